@@ -0,0 +1,58 @@
+package com.ecc.nichole.registration.app;
+
+import com.ecc.nichole.registration.infra.BulkLoadResult;
+import com.ecc.nichole.registration.infra.PersonBulkLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs a COPY-based full reload from CSV files and exits, e.g.
+ * {@code java -jar app.jar --spring.main.web-application-type=none --registration.bulk-load.persons=persons.csv
+ * --registration.bulk-load.person-roles=person-roles.csv}. See {@link PersonBulkLoader} for the file layout.
+ */
+@Component
+@ConditionalOnProperty(name = "registration.bulk-load.persons")
+public class PersonBulkLoadRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonBulkLoadRunner.class);
+
+    @Autowired
+    private PersonBulkLoader personBulkLoader;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${registration.bulk-load.persons}")
+    private Path persons;
+
+    // Required: loaded persons end up with exactly the links in this file, so omitting it would unlink every role.
+    @Value("${registration.bulk-load.person-roles}")
+    private Path personRoles;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        BulkLoadResult result;
+        try (Reader personReader = Files.newBufferedReader(persons, StandardCharsets.UTF_8);
+             Reader personRoleReader = Files.newBufferedReader(personRoles, StandardCharsets.UTF_8)) {
+            result = personBulkLoader.load(personReader, personRoleReader);
+        }
+
+        log.info("Bulk load from {} inserted {} and updated {} persons, linked {} and unlinked {} roles.",
+            persons, result.getInserted(), result.getUpdated(), result.getRolesLinked(), result.getRolesUnlinked());
+
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
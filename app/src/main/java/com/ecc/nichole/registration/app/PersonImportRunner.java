@@ -0,0 +1,87 @@
+package com.ecc.nichole.registration.app;
+
+import com.ecc.nichole.registration.core.model.dto.PersonImportResultDto;
+import com.ecc.nichole.registration.core.service.PersonService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports an NDJSON file of persons from the command line and exits, e.g.
+ * {@code java -jar app.jar --spring.main.web-application-type=none --registration.import.file=persons.ndjson}.
+ * Every rejected line is written to {@code registration.import.report} (default {@code <file>.errors.ndjson}).
+ */
+@Component
+@ConditionalOnProperty(name = "registration.import.file")
+public class PersonImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonImportRunner.class);
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${registration.import.file}")
+    private Path file;
+
+    @Value("${registration.import.report:}")
+    private String report;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path reportFile = report.isBlank() ? Path.of(file + ".errors.ndjson") : Path.of(report);
+
+        // The service requires an ADMIN; the operator running the CLI already has database access.
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+            "cli", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+        PersonImportResultDto result;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file));
+             OutputStream output = new BufferedOutputStream(Files.newOutputStream(reportFile));
+             JsonGenerator errors = objectMapper.createGenerator(output)) {
+            errors.setRootValueSeparator(null);
+            result = personService.importAll(input, failure -> {
+                try {
+                    errors.writeObject(failure);
+                    errors.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        log.info("Imported {} of {} persons from {}, {} failed; see {}.",
+            result.getImported(), result.getProcessed(), file, result.getFailed(), reportFile);
+
+        int exitCode = result.getFailed() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.context.annotation.ComponentScan;
 @ComponentScan(basePackages = {
 		"com.ecc.nichole.registration.core",
 		"com.ecc.nichole.registration.infra",
+		"com.ecc.nichole.registration.migration",
 		"com.ecc.nichole.registration.app"
 })
 public class RegistrationApplication {
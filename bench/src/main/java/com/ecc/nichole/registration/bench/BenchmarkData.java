@@ -0,0 +1,79 @@
+package com.ecc.nichole.registration.bench;
+
+import com.ecc.nichole.registration.core.model.Address;
+import com.ecc.nichole.registration.core.model.ContactInformation;
+import com.ecc.nichole.registration.core.model.Name;
+import com.ecc.nichole.registration.core.model.Person;
+import com.ecc.nichole.registration.core.model.Role;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+final class BenchmarkData {
+
+    private static final String[] SYLLABLES = {
+        "a", "ba", "ca", "da", "de", "di", "do", "ga", "gi", "go", "la", "le", "li", "lo", "lu", "ma", "me", "mi",
+        "mo", "na", "ne", "ni", "no", "pa", "pe", "pi", "ra", "re", "ri", "ro", "sa", "se", "si", "so", "ta", "te",
+        "ti", "to", "va", "ya", "yo", "za", "ez", "an", "on", "el", "in", "al"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static List<Role> roles() {
+        return List.of(role(1L, "ADMIN"), role(2L, "USER"), role(3L, "AUDITOR"));
+    }
+
+    static Person person(long id, List<Role> roles) {
+        Person person = new Person.Builder()
+            .id(id)
+            .name(new Name.Builder()
+                .lastName("Dela Cruz " + id)
+                .firstName("Juan")
+                .middleName("Santos")
+                .title("Mr.")
+                .build())
+            .address(new Address.Builder()
+                .streetNumber(id + " Rizal Street")
+                .barangay("San Antonio")
+                .city("Pasig")
+                .zipcode(1600)
+                .build())
+            .birthDate(LocalDate.of(1990, 1, 1).plusDays(id))
+            .gwa(1.75)
+            .hireDate(LocalDate.of(2020, 6, 1))
+            .employed(true)
+            .contactInformation(new ContactInformation.Builder()
+                .landline("0286543210")
+                .mobileNumber("09171234567")
+                .email("juan" + id + "@example.com")
+                .build())
+            .roles(new HashSet<>(roles.subList(0, 1 + (int) (id % roles.size()))))
+            .createdAt(ZonedDateTime.now())
+            .updatedAt(ZonedDateTime.now())
+            .build();
+        return person;
+    }
+
+    // Names built from a small syllable set repeat trigrams and prefixes far more than real names, a pessimistic load.
+    static String syntheticName(Random random, int minSyllables, int maxSyllables) {
+        StringBuilder name = new StringBuilder();
+        int syllables = minSyllables + random.nextInt(maxSyllables - minSyllables + 1);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private static Role role(long id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecc.nichole.registration.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load against a running application, for comparisons JMH cannot make in-process:
+ * platform against virtual request threads ({@code spring.threads.virtual.enabled}) and the
+ * {@code registration.security.auth-mode} options end to end.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.ecc.nichole.registration.bench.HttpLoad <url> [concurrency] [seconds]}.
+ * The {@code Authorization} header is taken from the {@code AUTHORIZATION} environment variable,
+ * e.g. {@code "Basic YWRtaW46YWRtaW4="} or {@code "Bearer <token>"}.
+ */
+public class HttpLoad {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: HttpLoad <url> [concurrency] [seconds]");
+            System.exit(1);
+        }
+
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        String authorization = System.getenv("AUTHORIZATION");
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET().timeout(Duration.ofSeconds(10));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+
+        Result warmup = run(request.build(), concurrency, Duration.ofSeconds(5));
+        Result result = run(request.build(), concurrency, duration);
+
+        System.out.printf("warmup:   %d ok, %d failed%n", warmup.ok(), warmup.failed());
+        System.out.printf("measured: %d ok, %d failed in %d s with %d clients%n",
+            result.ok(), result.failed(), duration.toSeconds(), concurrency);
+        System.out.printf("throughput: %.1f req/s%n", result.ok() / (double) duration.toSeconds());
+        System.out.printf("mean latency: %.2f ms%n", result.meanLatencyNanos() / 1_000_000.0);
+    }
+
+    private static Result run(HttpRequest request, int concurrency, Duration duration) throws Exception {
+        LongAdder ok = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder latency = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 == 2) {
+                                ok.increment();
+                                latency.add(System.nanoTime() - start);
+                            } else {
+                                failed.increment();
+                            }
+                        } catch (Exception e) {
+                            failed.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        long count = ok.sum();
+        return new Result(count, failed.sum(), count == 0 ? 0 : latency.sum() / count);
+    }
+
+    private record Result(long ok, long failed, long meanLatencyNanos) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecc.nichole.registration.bench;
+
+import com.ecc.nichole.registration.core.model.Person;
+import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.ecc.nichole.registration.core.model.dto.RoleDto;
+import com.ecc.nichole.registration.core.service.impl.PersonServiceImpl;
+import com.ecc.nichole.registration.core.service.impl.RoleServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and DTO conversions that run once per person or role on every read and write request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private final PersonServiceImpl personService = new PersonServiceImpl();
+    private final RoleServiceImpl roleService = new RoleServiceImpl();
+
+    private Person person;
+    private PersonDto personDto;
+    private Role role;
+
+    @Setup
+    public void setUp() {
+        List<Role> roles = BenchmarkData.roles();
+        person = BenchmarkData.person(1L, roles);
+        personDto = personService.toDto(person);
+        role = roles.get(0);
+    }
+
+    @Benchmark
+    public PersonDto personToDto() {
+        return personService.toDto(person);
+    }
+
+    @Benchmark
+    public Person personFromDto() {
+        return personService.fromDto(personDto);
+    }
+
+    @Benchmark
+    public Person personToBuilder() {
+        return person.toBuilder().build();
+    }
+
+    @Benchmark
+    public RoleDto roleToDto() {
+        return roleService.toDto(role);
+    }
+}
@@ -0,0 +1,130 @@
+package com.ecc.nichole.registration.bench;
+
+import com.ecc.nichole.registration.migration.MigrationConfig;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shows which index PostgreSQL picks for each person list filter, for checks JMH cannot make in-process. The
+ * queries are the first page of {@code GET /persons} as Hibernate renders them, ordered by last name, with
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} output for each.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.ecc.nichole.registration.bench.QueryPlanReport [rows]}.
+ * The database is taken from the {@code JDBC_URL}, {@code JDBC_USER} and {@code JDBC_PASSWORD} environment
+ * variables. It is migrated first, and filled with {@code rows} synthetic persons (one million by default) only if
+ * it holds no persons yet, so point it at a scratch database.
+ */
+public class QueryPlanReport {
+
+    private static final int ROLES = 20;
+
+    // Selective enough that walking the last name index until a page fills up would read most of the table.
+    // For filters matching a large share of rows that walk is the cheaper plan, and PostgreSQL rightly takes it.
+    private static final List<Filter> FILTERS = List.of(
+        new Filter("employed=false", "idx_person_employed_last_name_id",
+            "p1_0.employed=false"),
+        new Filter("employed=true, hired on one day", "idx_person_employed_hire_date",
+            "p1_0.employed=true and p1_0.hireDate between date '2010-03-01' and date '2010-03-01'"),
+        new Filter("born on one day", "idx_person_birth_date",
+            "p1_0.birthDate between date '1985-06-01' and date '1985-06-01'"),
+        new Filter("gwa 1.0000-1.0002", "idx_person_gwa",
+            "p1_0.gwa between 1.0 and 1.0002"),
+        new Filter("city and zipcode", "idx_person_city_zipcode",
+            "p1_0.city='City 19' and p1_0.zipcode=1031"),
+        new Filter("zipcode", "idx_person_zipcode",
+            "p1_0.zipcode=1234"),
+        new Filter("rarest role", "idx_person_role_roles_id_person_id",
+            "exists(select r1_0.roles_id from person_Role r1_0 where r1_0.roles_id in (0) and p1_0.id=r1_0.Person_id)"));
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String url = System.getenv().getOrDefault("JDBC_URL", "jdbc:postgresql://localhost:5432/registration");
+        String user = System.getenv().getOrDefault("JDBC_USER", "postgres");
+        String password = System.getenv().getOrDefault("JDBC_PASSWORD", "");
+
+        int misses = run(url, user, password, rows);
+        System.exit(misses == 0 ? 0 : 2);
+    }
+
+    /**
+     * Prints the plan of every filter and returns how many did not use their index.
+     */
+    public static int run(String url, String user, String password, int rows) throws SQLException {
+        FluentConfiguration configuration = Flyway.configure().dataSource(url, user, password);
+        new MigrationConfig().migrationCustomizer().customize(configuration);
+        configuration.load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            if (single(statement, "select count(*) from person").equals("0")) {
+                long start = System.nanoTime();
+                seed(statement, rows);
+                System.out.printf("seeded %d persons in %d s%n", rows, (System.nanoTime() - start) / 1_000_000_000);
+            }
+            statement.execute("vacuum analyze person");
+            statement.execute("vacuum analyze person_Role");
+            statement.execute("vacuum analyze Role");
+
+            int misses = 0;
+            for (Filter filter : FILTERS) {
+                List<String> plan = explain(statement, "select p1_0.id from person p1_0 where " + filter.predicate()
+                    + " order by p1_0.lastName offset 0 rows fetch first 11 rows only");
+                boolean used = plan.stream().anyMatch(line -> line.contains(filter.index()));
+                if (!used) {
+                    misses++;
+                }
+
+                System.out.printf("%n== %s: %s %s%n", filter.name(), filter.index(), used ? "used" : "NOT USED");
+                plan.forEach(line -> System.out.println("  " + line));
+            }
+
+            System.out.printf("%n%d of %d filters used their index%n", FILTERS.size() - misses, FILTERS.size());
+            return misses;
+        }
+    }
+
+    // Values repeat with co-prime strides, so every column gets a spread the planner can estimate.
+    private static void seed(Statement statement, int rows) throws SQLException {
+        statement.execute("insert into Role (id, uuid, name) select g, gen_random_uuid(), 'Role ' || g "
+            + "from generate_series(0, " + (ROLES - 1) + ") g");
+        statement.execute("insert into person (id, uuid, firstName, lastName, city, zipcode, birthDate, gwa, hireDate, employed) "
+            + "select g, gen_random_uuid(), 'First' || (g % 5000), initcap(substr(md5(g::text), 1, 8)), "
+            + "'City ' || (g * 7919 % 100), 1000 + (g * 31 % 9000)::int, date '1960-01-01' + (g * 13 % 15000)::int, "
+            + "1 + (g * 37 % 400000) / 100000.0, date '2000-01-01' + (g * 17 % 9000)::int, g % 5 <> 0 "
+            + "from generate_series(1::bigint, " + rows + ") g");
+        // Role 0 is rare, the others are spread evenly.
+        statement.execute("insert into person_Role (Person_id, roles_id) "
+            + "select g, case when g % 10000 = 0 then 0 else 1 + g % " + (ROLES - 1) + " end "
+            + "from generate_series(1, " + rows + ") g");
+        statement.execute("select setval('person_seq', " + (rows + 1) + ")");
+        statement.execute("select setval('role_seq', " + ROLES + ")");
+    }
+
+    private static List<String> explain(Statement statement, String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery("explain (analyze, buffers) " + sql)) {
+            while (resultSet.next()) {
+                plan.add(resultSet.getString(1));
+            }
+        }
+        return plan;
+    }
+
+    private static String single(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private record Filter(String name, String index, String predicate) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecc.nichole.registration.bench;
+
+import com.ecc.nichole.registration.core.model.Person;
+import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSliceDto;
+import com.ecc.nichole.registration.core.repo.PersonRepository;
+import com.ecc.nichole.registration.core.repo.PersonRepositoryCustom;
+import com.ecc.nichole.registration.core.service.impl.PersonServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One page of {@code GET /persons?cursor=} read through managed entities, as the list endpoints did before, and
+ * through the DTO projections they use now. Both run against an in-memory H2 database in a read-only session, the
+ * way a {@code readOnly} transaction sets it up, so no dirty-checking snapshots are kept on either path; the
+ * difference left is entity instances, persistence context entries and collection wrappers. H2 runs in the same
+ * JVM, so its own allocations are included in both numbers.
+ * <p>
+ * In one run on JDK 21, {@code gc.alloc.rate.norm} went from about 139 KB to 132 KB for a page of 20, and from
+ * 495 KB to 397 KB for a page of 100. Times are too noisy to compare here; measure those against PostgreSQL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+
+    private static final int PERSONS = 1_000;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private SessionFactory sessionFactory;
+
+    private EntityManager entityManager;
+
+    private PersonRepository personRepository;
+
+    private final PersonServiceImpl personService = new PersonServiceImpl();
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Person.class)
+            .addAnnotatedClass(Role.class)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:read-path;DB_CLOSE_DELAY=-1")
+            .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            List<Role> roles = new ArrayList<>();
+            for (Role role : BenchmarkData.roles()) {
+                role.setId(null);
+                session.persist(role);
+                roles.add(role);
+            }
+            for (long id = 1; id <= PERSONS; id++) {
+                Person person = BenchmarkData.person(id, roles);
+                person.setId(null);
+                session.persist(person);
+            }
+        });
+
+        entityManager = sessionFactory.createEntityManager();
+        entityManager.unwrap(Session.class).setDefaultReadOnly(true);
+
+        // The custom fragment serves filtered lists, which neither path here uses.
+        PersonRepositoryCustom unusedFragment = (specification, pageable) -> {
+            throw new UnsupportedOperationException();
+        };
+        personRepository = new JpaRepositoryFactory(entityManager)
+            .getRepository(PersonRepository.class, RepositoryFragments.just(unusedFragment));
+
+        Field field = ReflectionUtils.findField(PersonServiceImpl.class, "personRepository");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, personService, personRepository);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<PersonDto> entityPage() {
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.ASC, "name.lastName", "id"));
+        List<Long> ids = personRepository.findIdSlice(pageable).getContent();
+
+        Map<Long, PersonDto> personsById = entityManager
+            .createQuery("select distinct p from Person p left join fetch p.roles where p.id in :ids", Person.class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .collect(Collectors.toMap(Person::getId, personService::toDto));
+        entityManager.clear();
+        return ids.stream().map(personsById::get).toList();
+    }
+
+    @Benchmark
+    public PersonSliceDto projectionPage() {
+        PersonSliceDto slice = personService.getAllByCursor(null, "asc", pageSize);
+        entityManager.clear();
+        return slice;
+    }
+}
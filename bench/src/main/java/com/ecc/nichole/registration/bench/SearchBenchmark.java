@@ -0,0 +1,117 @@
+package com.ecc.nichole.registration.bench;
+
+import com.ecc.nichole.registration.core.search.PersonSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the trigram name search over synthetic names. Setup also prints the build time and the recall@10
+ * of misspelled queries, i.e. how often the misspelled person is still among the first ten results.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int QUERIES = 1_000;
+
+    private static final int RECALL_DEPTH = 10;
+
+    @Param({"100000", "1000000"})
+    private int persons;
+
+    private PersonSearchIndex index;
+
+    private String[] exactQueries;
+
+    private String[] misspelledQueries;
+
+    private String[] lastNameQueries;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] firstNames = new String[persons];
+        String[] lastNames = new String[persons];
+        index = new PersonSearchIndex();
+
+        long start = System.nanoTime();
+        for (int id = 0; id < persons; id++) {
+            firstNames[id] = BenchmarkData.syntheticName(random, 2, 3);
+            lastNames[id] = BenchmarkData.syntheticName(random, 2, 4);
+            index.index(id, UUID.randomUUID(), lastNames[id], firstNames[id], BenchmarkData.syntheticName(random, 2, 4));
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        exactQueries = new String[QUERIES];
+        misspelledQueries = new String[QUERIES];
+        lastNameQueries = new String[QUERIES];
+        int found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            int target = random.nextInt(persons);
+            exactQueries[i] = firstNames[target] + " " + lastNames[target];
+            misspelledQueries[i] = firstNames[target] + " " + misspell(random, lastNames[target]);
+            lastNameQueries[i] = lastNames[target];
+
+            // Synthetic names repeat, so any person with the same name counts as a hit.
+            for (long id : index.search(misspelledQueries[i], RECALL_DEPTH)) {
+                if (firstNames[(int) id].equals(firstNames[target]) && lastNames[(int) id].equals(lastNames[target])) {
+                    found++;
+                    break;
+                }
+            }
+        }
+
+        System.out.printf("%n%d persons indexed in %d ms, misspelled recall@%d %.3f%n",
+            persons, buildMillis, RECALL_DEPTH, (double) found / QUERIES);
+    }
+
+    @Benchmark
+    public List<Long> exactName() {
+        return index.search(exactQueries[next++ % QUERIES], 20);
+    }
+
+    @Benchmark
+    public List<Long> misspelledName() {
+        return index.search(misspelledQueries[next++ % QUERIES], 20);
+    }
+
+    @Benchmark
+    public List<Long> lastNameOnly() {
+        return index.search(lastNameQueries[next++ % QUERIES], 20);
+    }
+
+    // Replaces one letter, the most common typo, keeping the first letter as people rarely get that wrong.
+    private static String misspell(Random random, String name) {
+        if (name.length() < 2) {
+            return name;
+        }
+        char[] letters = name.toCharArray();
+        int position = 1 + random.nextInt(letters.length - 1);
+        char replacement;
+        do {
+            replacement = (char) ('a' + random.nextInt(26));
+        } while (replacement == letters[position]);
+        letters[position] = replacement;
+        return new String(letters);
+    }
+}
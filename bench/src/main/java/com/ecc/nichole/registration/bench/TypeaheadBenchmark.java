@@ -0,0 +1,90 @@
+package com.ecc.nichole.registration.bench;
+
+import com.ecc.nichole.registration.core.model.dto.PersonSummaryDto;
+import com.ecc.nichole.registration.core.search.PersonTypeahead;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of prefix completion for one to eight typed letters, and of an update while the index is large.
+ * Setup prints the build time and the memory footprint the index reports for itself.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TypeaheadBenchmark {
+
+    private static final int PREFIXES = 1_000;
+
+    @Param({"1000000"})
+    private int persons;
+
+    @Param({"1", "3", "8"})
+    private int prefixLength;
+
+    private PersonTypeahead typeahead;
+
+    private String[] prefixes;
+
+    private UUID[] uuids;
+
+    private String[] lastNames;
+
+    private Random random;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        typeahead = new PersonTypeahead();
+        uuids = new UUID[persons];
+        lastNames = new String[persons];
+
+        long start = System.nanoTime();
+        for (int id = 0; id < persons; id++) {
+            uuids[id] = UUID.randomUUID();
+            lastNames[id] = BenchmarkData.syntheticName(random, 2, 4);
+            typeahead.index(id, uuids[id], lastNames[id], BenchmarkData.syntheticName(random, 2, 3), BenchmarkData.syntheticName(random, 2, 4));
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String name = lastNames[random.nextInt(persons)];
+            prefixes[i] = name.substring(0, Math.min(prefixLength, name.length()));
+        }
+
+        System.out.printf("%n%d persons indexed in %d ms, %.1f MiB (%.0f bytes per person)%n",
+            persons, buildMillis, typeahead.memoryBytes() / 1048576.0, (double) typeahead.memoryBytes() / persons);
+    }
+
+    @Benchmark
+    public List<PersonSummaryDto> complete() {
+        return typeahead.complete(prefixes[next++ % PREFIXES], 10);
+    }
+
+    // Renames a random person, as a PUT does; every few thousand calls this includes a merge into the main array.
+    @Benchmark
+    public void rename() {
+        int id = random.nextInt(persons);
+        typeahead.index(id, uuids[id], BenchmarkData.syntheticName(random, 2, 4), "Juan", null);
+    }
+}
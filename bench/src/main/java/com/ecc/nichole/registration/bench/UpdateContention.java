@@ -0,0 +1,122 @@
+package com.ecc.nichole.registration.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop concurrent updates of the same persons against a running application, to measure how optimistic
+ * locking holds up under contention. Every writer merge-patches the GWA of a randomly picked person from the list.
+ * <p>
+ * In {@code retry} mode writers send blind patches and the server re-applies them on a version conflict. In
+ * {@code if-match} mode every writer reads the person's ETag first and patches with {@code If-Match}, so a conflict
+ * comes back as 412 and costs the client a fresh read.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.ecc.nichole.registration.bench.UpdateContention <persons-url>
+ * <uuid[,uuid...]> [writers] [seconds] [retry|if-match]}, where {@code persons-url} is e.g.
+ * {@code http://localhost:8080/api/v1/persons}. The {@code Authorization} header is taken from the
+ * {@code AUTHORIZATION} environment variable and must belong to an admin.
+ */
+public class UpdateContention {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: UpdateContention <persons-url> <uuid[,uuid...]> [writers] [seconds] [retry|if-match]");
+            System.exit(1);
+        }
+
+        String url = args[0].endsWith("/") ? args[0] : args[0] + "/";
+        String[] uuids = args[1].split(",");
+        int writers = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 30);
+        boolean ifMatch = args.length > 4 && args[4].equals("if-match");
+        String authorization = System.getenv("AUTHORIZATION");
+
+        Result warmup = run(url, uuids, writers, Duration.ofSeconds(5), ifMatch, authorization);
+        Result result = run(url, uuids, writers, duration, ifMatch, authorization);
+
+        System.out.printf("warmup:   %d updated, %d conflicts, %d stale, %d failed%n",
+            warmup.updated(), warmup.conflicts(), warmup.stale(), warmup.failed());
+        System.out.printf("measured: %d updated, %d conflicts (409), %d stale (412), %d failed in %d s%n",
+            result.updated(), result.conflicts(), result.stale(), result.failed(), duration.toSeconds());
+        System.out.printf("%d writers on %d persons, %s%n", writers, uuids.length, ifMatch ? "If-Match" : "server-side retry");
+        System.out.printf("throughput: %.1f updates/s%n", result.updated() / (double) duration.toSeconds());
+    }
+
+    private static Result run(String url, String[] uuids, int writers, Duration duration, boolean ifMatch,
+                              String authorization) throws Exception {
+        LongAdder updated = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder stale = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<?>> workers = new ArrayList<>(writers);
+            for (int i = 0; i < writers; i++) {
+                workers.add(clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        URI person = URI.create(url + uuids[random.nextInt(uuids.length)]);
+                        try {
+                            HttpRequest.Builder patch = request(person, authorization)
+                                .header("Content-Type", "application/merge-patch+json")
+                                .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                    "{\"gwa\": " + (1 + random.nextInt(300) / 100.0) + "}"));
+
+                            if (ifMatch) {
+                                HttpResponse<Void> read = client.send(request(person, authorization).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                                if (read.statusCode() != 200 || read.headers().firstValue("ETag").isEmpty()) {
+                                    failed.increment();
+                                    continue;
+                                }
+                                patch.header("If-Match", read.headers().firstValue("ETag").get());
+                            }
+
+                            int status = client.send(patch.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status / 100 == 2) {
+                                updated.increment();
+                            } else if (status == 409) {
+                                conflicts.increment();
+                            } else if (status == 412) {
+                                stale.increment();
+                            } else {
+                                failed.increment();
+                            }
+                        } catch (Exception e) {
+                            failed.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        return new Result(updated.sum(), conflicts.sum(), stale.sum(), failed.sum());
+    }
+
+    private static HttpRequest.Builder request(URI uri, String authorization) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private record Result(long updated, long conflicts, long stale, long failed) {
+    }
+}
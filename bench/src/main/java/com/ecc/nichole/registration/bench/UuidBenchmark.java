@@ -0,0 +1,74 @@
+package com.ecc.nichole.registration.bench;
+
+import com.ecc.nichole.registration.core.model.Person;
+import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.uuid.RandomUuidGenerator;
+import com.ecc.nichole.registration.core.uuid.TimeOrderedUuidGenerator;
+import com.ecc.nichole.registration.core.uuid.UuidGenerator;
+import com.ecc.nichole.registration.core.uuid.UuidGenerators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random (v4) against time-ordered (v7) identifiers, alone and as part of the entity constructors.
+ * The contended case shows the cost of the shared counter in the time-ordered generator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidBenchmark {
+
+    @Param({"random", "time-ordered"})
+    private String generator;
+
+    private UuidGenerator previous;
+
+    @Setup
+    public void setUp() {
+        previous = UuidGenerators.getGenerator();
+        UuidGenerators.setGenerator("random".equals(generator) ? new RandomUuidGenerator() : new TimeOrderedUuidGenerator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        UuidGenerators.setGenerator(previous);
+    }
+
+    @Benchmark
+    public UUID generate() {
+        return UuidGenerators.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID generateContended() {
+        return UuidGenerators.next();
+    }
+
+    @Benchmark
+    public Person newPerson() {
+        return new Person();
+    }
+
+    @Benchmark
+    public Role newRole() {
+        return new Role();
+    }
+}
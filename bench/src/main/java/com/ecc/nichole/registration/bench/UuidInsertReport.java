@@ -0,0 +1,116 @@
+package com.ecc.nichole.registration.bench;
+
+import com.ecc.nichole.registration.core.uuid.RandomUuidGenerator;
+import com.ecc.nichole.registration.core.uuid.TimeOrderedUuidGenerator;
+import com.ecc.nichole.registration.core.uuid.UuidGenerator;
+import com.ecc.nichole.registration.migration.MigrationConfig;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts the same number of persons once with random (v4) and once with time-ordered (v7) UUIDs, and reports the
+ * insert rate and the size of the {@code ux_person_uuid} index each leaves behind. Random keys land on arbitrary leaf
+ * pages, so the index splits pages all over and touches far more of them than the append-only v7 keys do.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.ecc.nichole.registration.bench.UuidInsertReport [rows]}.
+ * The database is taken from the {@code JDBC_URL}, {@code JDBC_USER} and {@code JDBC_PASSWORD} environment
+ * variables and migrated first. It must hold no persons, and every run truncates {@code person} again, so point it at
+ * a scratch database.
+ */
+public class UuidInsertReport {
+
+    // Rows per JDBC batch and per transaction, as PersonServiceImpl.createAll writes them.
+    private static final int BATCH_SIZE = 50;
+    private static final int BATCHES_PER_COMMIT = 20;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String url = System.getenv().getOrDefault("JDBC_URL", "jdbc:postgresql://localhost:5432/registration");
+        String user = System.getenv().getOrDefault("JDBC_USER", "postgres");
+        String password = System.getenv().getOrDefault("JDBC_PASSWORD", "");
+
+        run(url, user, password, rows);
+    }
+
+    public static List<Result> run(String url, String user, String password, int rows) throws SQLException {
+        FluentConfiguration configuration = Flyway.configure().dataSource(url, user, password);
+        new MigrationConfig().migrationCustomizer().customize(configuration);
+        configuration.load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            try (Statement statement = connection.createStatement()) {
+                if (!single(statement, "select count(*) from person").equals("0")) {
+                    throw new IllegalStateException("Cannot compare UUID inserts on a database that already holds persons.");
+                }
+            }
+
+            List<Result> results = new ArrayList<>();
+            results.add(measure(connection, "v4 (random)", new RandomUuidGenerator(), rows));
+            results.add(measure(connection, "v7 (time-ordered)", new TimeOrderedUuidGenerator(), rows));
+
+            System.out.printf("%n%-18s %12s %16s%n", "generator", "rows/s", "ux_person_uuid");
+            for (Result result : results) {
+                System.out.printf("%-18s %,12.0f %13.1f MB%n", result.generator(), result.rowsPerSecond(),
+                    result.indexBytes() / (1024.0 * 1024.0));
+            }
+            return results;
+        }
+    }
+
+    private static Result measure(Connection connection, String name, UuidGenerator generator, int rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("truncate person cascade");
+        }
+
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+            "insert into person (id, uuid, firstName, lastName, gwa, employed) values (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= rows; id++) {
+                insert.setLong(1, id);
+                insert.setObject(2, generator.generate());
+                insert.setString(3, "First" + id % 5_000);
+                insert.setString(4, "Last" + id);
+                insert.setDouble(5, 1 + id % 400 / 100.0);
+                insert.setBoolean(6, id % 5 != 0);
+                insert.addBatch();
+
+                if (id % BATCH_SIZE == 0 || id == rows) {
+                    insert.executeBatch();
+                }
+                if (id % (BATCH_SIZE * BATCHES_PER_COMMIT) == 0 || id == rows) {
+                    connection.commit();
+                }
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        try (Statement statement = connection.createStatement()) {
+            long indexBytes = Long.parseLong(single(statement, "select pg_relation_size('ux_person_uuid')"));
+            Result result = new Result(name, rows / seconds, indexBytes);
+            statement.execute("truncate person cascade");
+            return result;
+        }
+    }
+
+    private static String single(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    public record Result(String generator, double rowsPerSecond, long indexBytes) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecc.nichole.registration.core.cache;
+
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Delegates to a Spring {@link CacheManager}, so a shared store such as Redis or Hazelcast can be plugged in
+ * by configuring the matching cache manager. Size and TTL limits are set on that store.
+ * <p>
+ * The version check in {@link #put} is a read followed by a write, since {@link Cache} has no compare-and-set;
+ * a concurrent put may still slip in between, bounded by the store's TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "registration.person-cache.type", havingValue = "distributed")
+public class CacheManagerPersonCache implements PersonCache {
+
+    static final String CACHE_NAME = "persons";
+
+    private final Cache persons;
+
+    public CacheManagerPersonCache(CacheManager cacheManager) {
+        this.persons = cacheManager.getCache(CACHE_NAME);
+    }
+
+    @Override
+    public Optional<PersonDto> get(UUID uuid) {
+        return Optional.ofNullable(persons.get(uuid, PersonDto.class)).map(PersonDtoCopies::copy);
+    }
+
+    @Override
+    public void put(UUID uuid, PersonDto person) {
+        PersonDto cached = persons.get(uuid, PersonDto.class);
+        if (cached == null || person.getVersion() >= cached.getVersion()) {
+            persons.put(uuid, PersonDtoCopies.copy(person));
+        }
+    }
+
+    @Override
+    public void evict(UUID uuid) {
+        persons.evict(uuid);
+    }
+
+    @Override
+    public void clear() {
+        persons.clear();
+    }
+}
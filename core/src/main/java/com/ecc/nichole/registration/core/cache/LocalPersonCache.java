@@ -0,0 +1,50 @@
+package com.ecc.nichole.registration.core.cache;
+
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "registration.person-cache.type", havingValue = "local", matchIfMissing = true)
+public class LocalPersonCache implements PersonCache {
+
+    private final Cache<UUID, PersonDto> persons;
+
+    public LocalPersonCache(
+            @Value("${registration.person-cache.maximum-size:10000}") long maximumSize,
+            @Value("${registration.person-cache.time-to-live:5m}") Duration timeToLive) {
+        this.persons = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public Optional<PersonDto> get(UUID uuid) {
+        return Optional.ofNullable(persons.getIfPresent(uuid)).map(PersonDtoCopies::copy);
+    }
+
+    @Override
+    public void put(UUID uuid, PersonDto person) {
+        persons.asMap().merge(uuid, PersonDtoCopies.copy(person),
+            (cached, loaded) -> loaded.getVersion() >= cached.getVersion() ? loaded : cached);
+    }
+
+    @Override
+    public void evict(UUID uuid) {
+        persons.invalidate(uuid);
+    }
+
+    @Override
+    public void clear() {
+        persons.invalidateAll();
+    }
+}
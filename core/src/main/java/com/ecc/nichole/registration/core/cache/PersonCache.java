@@ -0,0 +1,24 @@
+package com.ecc.nichole.registration.core.cache;
+
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache of {@link PersonDto} keyed by UUID. Select the implementation with
+ * {@code registration.person-cache.type}: {@code local} (default) or {@code distributed}.
+ * <p>
+ * Entries are handed out as copies, and {@link #put} keeps an entry that is newer than the one it is given,
+ * so a read that loaded a person just before an update cannot replace the updated entry.
+ */
+public interface PersonCache {
+
+    Optional<PersonDto> get(UUID uuid);
+
+    void put(UUID uuid, PersonDto person);
+
+    void evict(UUID uuid);
+
+    void clear();
+}
@@ -0,0 +1,77 @@
+package com.ecc.nichole.registration.core.cache;
+
+import com.ecc.nichole.registration.core.model.Address;
+import com.ecc.nichole.registration.core.model.ContactInformation;
+import com.ecc.nichole.registration.core.model.Name;
+import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+
+import java.util.stream.Collectors;
+
+/**
+ * Deep copies of {@link PersonDto}, whose embedded name, address, contact information and roles are all mutable.
+ */
+final class PersonDtoCopies {
+
+    private PersonDtoCopies() {
+    }
+
+    static PersonDto copy(PersonDto person) {
+        return new PersonDto(
+            person.getId(),
+            person.getUuid(),
+            copy(person.getName()),
+            copy(person.getAddress()),
+            person.getBirthDate(),
+            person.getGwa(),
+            person.getHireDate(),
+            person.isEmployed(),
+            copy(person.getContactInformation()),
+            person.getRoles().stream()
+                .map(role -> new Role(role.getId(), role.getUuid(), role.getName(), role.getVersion()))
+                .collect(Collectors.toSet()),
+            person.getCreatedAt(),
+            person.getUpdatedAt(),
+            person.getVersion()
+        );
+    }
+
+    private static Name copy(Name name) {
+        if (name == null) {
+            return null;
+        }
+
+        return new Name.Builder()
+            .lastName(name.getLastName())
+            .firstName(name.getFirstName())
+            .middleName(name.getMiddleName())
+            .suffix(name.getSuffix())
+            .title(name.getTitle())
+            .build();
+    }
+
+    private static Address copy(Address address) {
+        if (address == null) {
+            return null;
+        }
+
+        return new Address.Builder()
+            .streetNumber(address.getStreetNumber())
+            .barangay(address.getBarangay())
+            .city(address.getCity())
+            .zipcode(address.getZipcode())
+            .build();
+    }
+
+    private static ContactInformation copy(ContactInformation contactInformation) {
+        if (contactInformation == null) {
+            return null;
+        }
+
+        return new ContactInformation.Builder()
+            .landline(contactInformation.getLandline())
+            .mobileNumber(contactInformation.getMobileNumber())
+            .email(contactInformation.getEmail())
+            .build();
+    }
+}
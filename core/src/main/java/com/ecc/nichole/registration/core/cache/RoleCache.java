@@ -0,0 +1,140 @@
+package com.ecc.nichole.registration.core.cache;
+
+import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.CacheStatsDto;
+import com.ecc.nichole.registration.core.model.dto.RoleDto;
+import com.ecc.nichole.registration.core.repo.ReplicaReads;
+import com.ecc.nichole.registration.core.repo.RoleRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of roles keyed by both UUID and id. Entries are handed out as copies so callers
+ * can modify the returned DTOs without corrupting the cache. Writes must call {@link #invalidateAll()}.
+ * <p>
+ * Misses are loaded outside of the cache instead of through {@code Cache.get(key, loader)}, whose loader
+ * runs inside a synchronized map bin and would pin a virtual thread's carrier for the whole query. They run in a
+ * read-only transaction, joining the caller's if there is one, and are only stored when they were read from the
+ * primary; a lagging replica could otherwise put back the roles a write on this instance just invalidated.
+ */
+@Component
+public class RoleCache {
+
+    private static final String ALL_ROLES = "all";
+
+    private static final long MAXIMUM_SIZE = 10_000;
+
+    // Bounds staleness when another instance changes a role.
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final RoleRepository roleRepository;
+
+    private final TransactionTemplate readOnly;
+
+    private final Cache<UUID, RoleDto> rolesByUuid = newCache();
+
+    private final Cache<Long, RoleDto> rolesById = newCache();
+
+    private final Cache<String, List<RoleDto>> allRoles = newCache();
+
+    public RoleCache(RoleRepository roleRepository, PlatformTransactionManager transactionManager) {
+        this.roleRepository = roleRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public Optional<RoleDto> findByUuid(UUID uuid) {
+        RoleDto cached = rolesByUuid.getIfPresent(uuid);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+
+        return load(() -> roleRepository.findByUuid(uuid).map(this::toDto), found -> found.ifPresent(this::store))
+            .map(this::copy);
+    }
+
+    public Map<Long, RoleDto> findAllById(Collection<Long> ids) {
+        Map<Long, RoleDto> roles = new HashMap<>(rolesById.getAllPresent(ids));
+        Set<Long> missingIds = ids.stream().filter(id -> !roles.containsKey(id)).collect(Collectors.toSet());
+        if (!missingIds.isEmpty()) {
+            load(() -> roleRepository.findAllById(missingIds).stream().map(this::toDto).toList(), found -> found.forEach(this::store))
+                .forEach(role -> roles.put(role.getId(), role));
+        }
+
+        return roles.values().stream()
+            .map(this::copy)
+            .collect(Collectors.toMap(RoleDto::getId, role -> role));
+    }
+
+    public List<RoleDto> findAll() {
+        List<RoleDto> roles = allRoles.getIfPresent(ALL_ROLES);
+        if (roles == null) {
+            roles = load(() -> roleRepository.findAll().stream().map(this::toDto).collect(Collectors.toList()),
+                found -> allRoles.put(ALL_ROLES, found));
+        }
+
+        return roles.stream()
+            .map(this::copy)
+            .collect(Collectors.toList());
+    }
+
+    public void invalidateAll() {
+        rolesByUuid.invalidateAll();
+        rolesById.invalidateAll();
+        allRoles.invalidateAll();
+    }
+
+    public List<CacheStatsDto> stats() {
+        return List.of(
+            CacheStatsDto.of("rolesByUuid", rolesByUuid),
+            CacheStatsDto.of("rolesById", rolesById),
+            CacheStatsDto.of("allRoles", allRoles)
+        );
+    }
+
+    private <T> T load(Supplier<T> loader, Consumer<T> store) {
+        return readOnly.execute(status -> {
+            T loaded = loader.get();
+            if (!ReplicaReads.isReplicaRead()) {
+                store.accept(loaded);
+            }
+            return loaded;
+        });
+    }
+
+    private void store(RoleDto role) {
+        rolesByUuid.put(role.getUuid(), role);
+        rolesById.put(role.getId(), role);
+    }
+
+    private RoleDto toDto(Role role) {
+        return new RoleDto(role.getId(), role.getUuid(), role.getName(), role.getVersion());
+    }
+
+    private RoleDto copy(RoleDto role) {
+        return new RoleDto(role.getId(), role.getUuid(), role.getName(), role.getVersion());
+    }
+
+    private static <K, V> Cache<K, V> newCache() {
+        return Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(EXPIRE_AFTER_WRITE)
+            .recordStats()
+            .build();
+    }
+}
@@ -1,16 +1,28 @@
 package com.ecc.nichole.registration.core.controller;
 
 
+import com.ecc.nichole.registration.core.export.ExportFormat;
 import com.ecc.nichole.registration.core.model.ContactInformation;
+import com.ecc.nichole.registration.core.model.dto.IndexStatsDto;
+import com.ecc.nichole.registration.core.model.dto.PersonBatchResultDto;
 import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.ecc.nichole.registration.core.model.dto.PersonFilterDto;
+import com.ecc.nichole.registration.core.model.dto.PersonImportResultDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSliceDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSummaryDto;
 import com.ecc.nichole.registration.core.model.dto.RoleDto;
 import com.ecc.nichole.registration.core.service.PersonService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -18,12 +30,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,6 +50,9 @@ import java.util.UUID;
 @RequestMapping("/api/v1/persons")
 public class PersonController {
 
+    // Bounds the response for files with millions of bad lines; the CLI import writes a full report.
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 1_000;
+
     @Autowired
     private PersonService personService;
 
@@ -41,16 +62,108 @@ public class PersonController {
         return ResponseEntity.ok("Successfully saved person with UUID " + personDto.getUuid() + ".");
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<PersonBatchResultDto>> createAll(@RequestBody List<PersonDto> persons) {
+        List<PersonBatchResultDto> results = personService.createAll(persons);
+        boolean allSaved = results.stream().allMatch(PersonBatchResultDto::isSuccess);
+
+        return ResponseEntity.status(allSaved ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(results);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<PersonImportResultDto> importAll(InputStream body) throws IOException {
+        List<PersonBatchResultDto> errors = new ArrayList<>();
+        PersonImportResultDto result = personService.importAll(body, failure -> {
+            if (errors.size() < MAX_REPORTED_IMPORT_ERRORS) {
+                errors.add(failure);
+            }
+        });
+        result.setErrors(errors);
+
+        return ResponseEntity.status(result.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(result);
+    }
+
     @GetMapping
     public ResponseEntity<List<PersonDto>> getAllPersons(
             @RequestParam(name = "sortBy", defaultValue = "name.lastName") String sortBy,
             @RequestParam(name = "order", defaultValue = "asc") String order,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            PersonFilterDto filter,
+            WebRequest request) {
 
         Pageable pageable = PageRequest.of(page, size);
-        List<PersonDto> persons = personService.getAll(sortBy, order, pageable);
-        return ResponseEntity.ok(persons);
+        // Polling clients mostly get 304, answered from a version-only query without loading or serializing persons.
+        return personService.getAll(filter, sortBy, order, pageable, request::checkNotModified)
+            .map(ResponseEntity::ok)
+            .orElse(null);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PersonSliceDto> getAllPersonsByCursor(
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "order", defaultValue = "asc") String order,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return ResponseEntity.ok(personService.getAllByCursor(cursor, order, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<PersonDto>> search(
+            @RequestParam(name = "q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(personService.search(query, limit));
+    }
+
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<PersonSummaryDto>> complete(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(personService.complete(prefix, limit));
+    }
+
+    @GetMapping("/index/stats")
+    public ResponseEntity<List<IndexStatsDto>> getIndexStats() {
+        return ResponseEntity.ok(personService.getIndexStats());
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromExtension(format)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot export persons as unsupported format " + format + "."));
+
+        // The body is written on an async thread; exportAll checks the caller's roles there, so hand it the context.
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        StreamingResponseBody body = outputStream -> {
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                personService.exportAll(exportFormat, outputStream);
+            } finally {
+                SecurityContextHolder.setContext(previous);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"persons." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+
+    @GetMapping("/{uuid}")
+    public ResponseEntity<PersonDto> getPerson(@PathVariable UUID uuid, WebRequest request) {
+        String versionTag = personService.getVersionTag(uuid)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot retrieve non-existing person with UUID " + uuid + "."));
+        if (request.checkNotModified(versionTag)) {
+            return null;
+        }
+
+        // The cache may still hold an older copy than the tag describes; getByUuid reloads it then.
+        PersonDto person = personService.getByUuid(uuid, versionTag)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot retrieve non-existing person with UUID " + uuid + "."));
+
+        return ResponseEntity.ok(person);
     }
 
     @GetMapping("/{uuid}/roles")
@@ -66,15 +179,33 @@ public class PersonController {
     }
 
     @PutMapping("/{uuid}")
-    public ResponseEntity<String> update(@PathVariable UUID uuid, @RequestBody PersonDto person) {
-        return Optional.ofNullable(personService.update(uuid, person))
+    public ResponseEntity<String> update(
+            @PathVariable UUID uuid,
+            @RequestBody PersonDto person,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return personService.update(uuid, person, ifMatch)
             .map(updatedPerson -> ResponseEntity.ok("Person successfully updated."))
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot update non-existing role with UUID " + uuid + "."));
     }
 
+    @PatchMapping(value = "/{uuid}", consumes = "application/merge-patch+json")
+    public ResponseEntity<String> mergePatch(
+            @PathVariable UUID uuid,
+            @RequestBody JsonNode patch,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<PersonDto> updatedPerson = personService.mergePatch(uuid, patch, ifMatch);
+
+        return updatedPerson
+            .map(person -> ResponseEntity.ok("Successfully patched person with UUID " + uuid + "."))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot patch non-existing person with UUID " + uuid + "."));
+    }
+
     @PatchMapping("/{uuid}/contact")
-    public ResponseEntity<String> patchContactInformation(@PathVariable UUID uuid, @RequestBody ContactInformation contactInformation) {
-        Optional<PersonDto> updatedPerson = personService.patchContactInformation(uuid, contactInformation);
+    public ResponseEntity<String> patchContactInformation(
+            @PathVariable UUID uuid,
+            @RequestBody ContactInformation contactInformation,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<PersonDto> updatedPerson = personService.patchContactInformation(uuid, contactInformation, ifMatch);
 
         return updatedPerson
             .map(person -> ResponseEntity.ok("Successfully patched contact information of person with UUID " + uuid + "."))
@@ -82,8 +213,11 @@ public class PersonController {
     }
 
     @PatchMapping("/{uuid}/roles")
-    public ResponseEntity<String> patchRoles(@PathVariable UUID uuid, @RequestBody List<RoleDto> role) {
-        Optional<PersonDto> updatedPerson = personService.patchRoles(uuid, role);
+    public ResponseEntity<String> patchRoles(
+            @PathVariable UUID uuid,
+            @RequestBody List<RoleDto> role,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<PersonDto> updatedPerson = personService.patchRoles(uuid, role, ifMatch);
 
         return updatedPerson
             .map(person -> ResponseEntity.ok("Successfully patched roles of person with UUID " + uuid + "."))
@@ -98,4 +232,10 @@ public class PersonController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot delete non-existing person with UUID " + uuid + ".");
         }
     }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<String> deleteAll(@RequestBody List<UUID> uuids) {
+        int deleted = personService.deleteAll(uuids);
+        return ResponseEntity.ok("Successfully deleted " + deleted + " of " + uuids.size() + " persons.");
+    }
 }
@@ -1,5 +1,6 @@
 package com.ecc.nichole.registration.core.controller;
 
+import com.ecc.nichole.registration.core.model.dto.CacheStatsDto;
 import com.ecc.nichole.registration.core.model.dto.RoleDto;
 import com.ecc.nichole.registration.core.service.RoleService;
 import com.ecc.nichole.registration.core.service.impl.RoleServiceImpl;
@@ -8,8 +9,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -28,13 +31,22 @@ public class RoleController {
 
     @GetMapping("/{uuid}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<RoleDto> getRole(@PathVariable UUID uuid) {
+    public ResponseEntity<RoleDto> getRole(@PathVariable UUID uuid, WebRequest request) {
         RoleDto role = roleService.getByUuid(uuid)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot retrieve non-existing role with UUID " + uuid + "."));
+        if (request.checkNotModified(String.valueOf(role.getVersion()))) {
+            return null;
+        }
 
         return ResponseEntity.ok(role);
     }
 
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(roleService.getCacheStats());
+    }
+
     @PutMapping("/{uuid}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<String> updateRole(@PathVariable UUID uuid, @RequestBody RoleDto updatedRole) {
@@ -50,14 +62,10 @@ public class RoleController {
     @DeleteMapping("/{uuid}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<String> deleteRole(@PathVariable UUID uuid) {
-        return roleService.getByUuid(uuid)
-            .map(role -> {
-                if (roleService.delete(uuid)) {
-                    return ResponseEntity.ok("Successfully deleted role " + role.getName() + " with UUID " + uuid + ".");
-                } else {
-                    throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to delete role with UUID " + uuid + ".");
-                }
-            })
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot delete non-existing role with UUID " + uuid + "."));
+        if (roleService.delete(uuid)) {
+            return ResponseEntity.ok("Successfully deleted role with UUID " + uuid + ".");
+        } else {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot delete non-existing role with UUID " + uuid + ".");
+        }
     }
 }
\ No newline at end of file
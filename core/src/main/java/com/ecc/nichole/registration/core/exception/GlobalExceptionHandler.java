@@ -1,6 +1,8 @@
 package com.ecc.nichole.registration.core.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,4 +25,10 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(responseBody, ex.getStatusCode());
     }
+
+    // Role writes, and person writes that ran out of retries, lost a race with a concurrent commit.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        return handleResponseStatusException(new ResponseStatusException(HttpStatus.CONFLICT, "The resource was changed concurrently, retry with a fresh copy."), request);
+    }
 }
@@ -0,0 +1,88 @@
+package com.ecc.nichole.registration.core.export;
+
+import com.ecc.nichole.registration.core.model.Address;
+import com.ecc.nichole.registration.core.model.ContactInformation;
+import com.ecc.nichole.registration.core.model.Name;
+import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+class CsvPersonExportWriter implements PersonExportWriter {
+
+    static final String HEADER = "uuid,lastName,firstName,middleName,suffix,title,streetNumber,barangay,city,zipcode,"
+        + "birthDate,gwa,hireDate,employed,landline,mobileNumber,email,roles,createdAt,updatedAt";
+
+    private final Writer writer;
+
+    CsvPersonExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.writer.write(HEADER);
+        this.writer.write("\r\n");
+    }
+
+    @Override
+    public void write(PersonDto person) throws IOException {
+        Name name = person.getName() != null ? person.getName() : new Name();
+        Address address = person.getAddress() != null ? person.getAddress() : new Address();
+        ContactInformation contact = person.getContactInformation() != null ? person.getContactInformation() : new ContactInformation();
+        String roles = person.getRoles().stream()
+            .map(Role::getName)
+            .sorted()
+            .collect(Collectors.joining(";"));
+
+        writeFields(
+            person.getUuid(),
+            name.getLastName(),
+            name.getFirstName(),
+            name.getMiddleName(),
+            name.getSuffix(),
+            name.getTitle(),
+            address.getStreetNumber(),
+            address.getBarangay(),
+            address.getCity(),
+            address.getZipcode(),
+            person.getBirthDate(),
+            person.getGwa(),
+            person.getHireDate(),
+            person.isEmployed(),
+            contact.getLandline(),
+            contact.getMobileNumber(),
+            contact.getEmail(),
+            roles,
+            person.getCreatedAt(),
+            person.getUpdatedAt()
+        );
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeFields(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] != null) {
+                writer.write(escape(fields[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing a delimiter, quote or line break, doubling embedded quotes.
+    static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
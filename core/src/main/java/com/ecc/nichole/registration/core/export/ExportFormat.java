@@ -0,0 +1,31 @@
+package com.ecc.nichole.registration.core.export;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static Optional<ExportFormat> fromExtension(String extension) {
+        return Arrays.stream(values())
+            .filter(format -> format.extension.equalsIgnoreCase(extension))
+            .findFirst();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecc.nichole.registration.core.export;
+
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+class NdjsonPersonExportWriter implements PersonExportWriter {
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    NdjsonPersonExportWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.writer = objectMapper.writerFor(PersonDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = writer.createGenerator(outputStream);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are terminated explicitly below instead of separated by Jackson's default space.
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(PersonDto person) throws IOException {
+        writer.writeValue(generator, person);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecc.nichole.registration.core.export;
+
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes persons one at a time to an export stream. Implementations buffer internally and never
+ * close the underlying stream; callers flush periodically and once at the end.
+ */
+public interface PersonExportWriter extends Flushable {
+
+    void write(PersonDto person) throws IOException;
+
+    static PersonExportWriter create(ExportFormat format, ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonPersonExportWriter(objectMapper, outputStream);
+            case CSV -> new CsvPersonExportWriter(outputStream);
+        };
+    }
+}
@@ -1,8 +1,12 @@
 package com.ecc.nichole.registration.core.model;
 
+import com.ecc.nichole.registration.core.uuid.UuidGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
@@ -13,12 +17,26 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "person")
+// Patches touch a few columns of a wide row; writing only those keeps UPDATEs and WAL small.
+@DynamicUpdate
+@Table(name = "person", indexes = {
+    @Index(name = "ux_person_uuid", columnList = "uuid", unique = true),
+    @Index(name = "idx_person_last_name_id", columnList = "lastName, id"),
+    @Index(name = "idx_person_employed_last_name_id", columnList = "employed, lastName, id"),
+    @Index(name = "idx_person_employed_hire_date", columnList = "employed, hireDate"),
+    @Index(name = "idx_person_birth_date", columnList = "birthDate"),
+    @Index(name = "idx_person_gwa", columnList = "gwa"),
+    @Index(name = "idx_person_city_zipcode", columnList = "city, zipcode"),
+    @Index(name = "idx_person_zipcode", columnList = "zipcode")
+})
 public class Person {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+    @SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
     private Long id;
 
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(nullable = false)
     private UUID uuid;
 
     @Embedded
@@ -44,10 +62,14 @@ public class Person {
     private ZonedDateTime createdAt;
     private ZonedDateTime updatedAt;
 
+    // Hibernate also bumps it when the role links change.
+    @Version
+    private long version;
+
     public Person() {
         this.createdAt = ZonedDateTime.now();
         this.updatedAt = ZonedDateTime.now();
-        this.uuid = UUID.randomUUID();
+        this.uuid = UuidGenerators.next();
     }
 
     public void addRole(Role role) {
@@ -159,4 +181,4 @@ public class Person {
             .createdAt(this.createdAt)
             .updatedAt(this.updatedAt);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
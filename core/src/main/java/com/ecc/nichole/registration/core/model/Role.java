@@ -1,26 +1,43 @@
 package com.ecc.nichole.registration.core.model;
 
+import com.ecc.nichole.registration.core.uuid.UuidGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
-@Table
+@Table(indexes = @Index(name = "ux_role_uuid", columnList = "uuid", unique = true))
 public class Role {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_seq")
+    @SequenceGenerator(name = "role_seq", sequenceName = "role_seq", allocationSize = 50)
     private Long id;
 
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(nullable = false)
     private UUID uuid;
 
     private String name;
 
+    @Version
+    private long version;
+
     public Role() {
-        this.uuid = UUID.randomUUID();
+        this.uuid = UuidGenerators.next();
+    }
+
+    // Detached role read through a projection; skips generating a UUID only to overwrite it.
+    public Role(Long id, UUID uuid, String name, long version) {
+        this.id = id;
+        this.uuid = uuid;
+        this.name = name;
+        this.version = version;
     }
 }
\ No newline at end of file
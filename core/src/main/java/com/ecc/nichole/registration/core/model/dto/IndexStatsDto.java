@@ -0,0 +1,18 @@
+package com.ecc.nichole.registration.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexStatsDto {
+    private String name;
+
+    private long size;
+
+    private long memoryBytes;
+}
@@ -0,0 +1,30 @@
+package com.ecc.nichole.registration.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonBatchResultDto {
+    private int index;
+
+    private UUID uuid;
+
+    private boolean success;
+
+    private String error;
+
+    public static PersonBatchResultDto success(int index, UUID uuid) {
+        return new PersonBatchResultDto(index, uuid, true, null);
+    }
+
+    public static PersonBatchResultDto failure(int index, UUID uuid, String error) {
+        return new PersonBatchResultDto(index, uuid, false, error);
+    }
+}
@@ -4,6 +4,7 @@ import com.ecc.nichole.registration.core.model.Address;
 import com.ecc.nichole.registration.core.model.ContactInformation;
 import com.ecc.nichole.registration.core.model.Name;
 import com.ecc.nichole.registration.core.model.Role;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Embedded;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -49,4 +50,26 @@ public class PersonDto {
 
     private ZonedDateTime createdAt;
     private ZonedDateTime updatedAt;
+
+    // Lets the person cache keep the newest of two loads; clients use the ETag instead.
+    @JsonIgnore
+    private long version;
+
+    // Target of the read queries' constructor expressions; roles are added from a second query.
+    public PersonDto(Long id, UUID uuid, Name name, Address address, LocalDate birthDate, double gwa, LocalDate hireDate,
+                     boolean employed, ContactInformation contactInformation, ZonedDateTime createdAt, ZonedDateTime updatedAt,
+                     long version) {
+        this.id = id;
+        this.uuid = uuid;
+        this.name = name;
+        this.address = address;
+        this.birthDate = birthDate;
+        this.gwa = gwa;
+        this.hireDate = hireDate;
+        this.employed = employed;
+        this.contactInformation = contactInformation;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
 }
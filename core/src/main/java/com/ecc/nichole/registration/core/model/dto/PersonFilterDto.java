@@ -0,0 +1,44 @@
+package com.ecc.nichole.registration.core.model.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Optional criteria for listing persons, bound from query parameters. Unset criteria are ignored, ranges are
+ * inclusive and may be open on either end, and {@code roles} matches persons holding any of the given roles.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PersonFilterDto {
+    private Boolean employed;
+
+    private Double minGwa;
+
+    private Double maxGwa;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate bornFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate bornTo;
+
+    private String city;
+
+    private Integer zipcode;
+
+    private List<UUID> roles = new ArrayList<>();
+}
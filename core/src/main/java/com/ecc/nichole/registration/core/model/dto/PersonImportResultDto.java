@@ -0,0 +1,24 @@
+package com.ecc.nichole.registration.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonImportResultDto {
+    private long processed;
+
+    private long imported;
+
+    private long failed;
+
+    // Capped by the caller; failed holds the full count.
+    private List<PersonBatchResultDto> errors = new ArrayList<>();
+}
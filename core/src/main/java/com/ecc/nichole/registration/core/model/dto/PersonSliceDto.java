@@ -0,0 +1,19 @@
+package com.ecc.nichole.registration.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonSliceDto {
+    private List<PersonDto> content = new ArrayList<>();
+
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.ecc.nichole.registration.core.model.dto;
+
+import com.ecc.nichole.registration.core.model.Name;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonSummaryDto {
+    private Long id;
+
+    private UUID uuid;
+
+    private Name name;
+}
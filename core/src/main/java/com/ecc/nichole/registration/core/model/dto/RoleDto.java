@@ -18,4 +18,6 @@ public class RoleDto {
     private UUID uuid;
 
     private String name;
+
+    private long version;
 }
@@ -0,0 +1,16 @@
+package com.ecc.nichole.registration.core.repo;
+
+import java.util.UUID;
+
+public interface PersonNameView {
+
+    Long getId();
+
+    UUID getUuid();
+
+    String getLastName();
+
+    String getFirstName();
+
+    String getMiddleName();
+}
@@ -1,20 +1,97 @@
 package com.ecc.nichole.registration.core.repo;
 
 import com.ecc.nichole.registration.core.model.Person;
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Long> {
+public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person>, PersonRepositoryCustom {
 
     boolean existsByUuid(UUID uuid);
 
     @Transactional
-    void deleteByUuid(UUID uuid);
+    @Modifying
+    @Query("delete from Person p where p.uuid = :uuid")
+    int deleteByUuid(@Param("uuid") UUID uuid);
 
+    @Transactional
+    @Modifying
+    @Query("delete from Person p where p.uuid in :uuids")
+    int deleteAllByUuidIn(@Param("uuids") Collection<UUID> uuids);
+
+    @EntityGraph(attributePaths = "roles")
     Optional<Person> findByUuid(UUID uuid);
-}
\ No newline at end of file
+
+    @Query("select p.id from Person p")
+    Slice<Long> findIdSlice(Pageable pageable);
+
+    @Query("select p.id from Person p where p.name.lastName >= :lastName and (p.name.lastName > :lastName or p.id > :id)")
+    Slice<Long> findIdSliceAfter(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+
+    @Query("select p.id from Person p where p.name.lastName <= :lastName and (p.name.lastName < :lastName or p.id < :id)")
+    Slice<Long> findIdSliceBefore(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+
+    // Persons without a last name sort after all others and are paged by id alone; the keyset queries above skip them.
+    @Query("select p.id from Person p where p.name.lastName is not null")
+    Slice<Long> findIdSliceWithLastName(Pageable pageable);
+
+    @Query("select p.id from Person p where p.name.lastName is null")
+    Slice<Long> findIdSliceWithoutLastName(Pageable pageable);
+
+    @Query("select p.id from Person p where p.name.lastName is null and p.id > :id")
+    Slice<Long> findIdSliceWithoutLastNameAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select p.id from Person p where p.name.lastName is null and p.id < :id")
+    Slice<Long> findIdSliceWithoutLastNameBefore(@Param("id") Long id, Pageable pageable);
+
+    // Versions only, for ETags: reads person_Role and the role rows but hydrates no entities.
+    @Query("select p.id as id, p.version as version, r.id as roleId, r.version as roleVersion from Person p left join p.roles r where p.uuid = :uuid")
+    List<PersonVersionView> findVersionsByUuid(@Param("uuid") UUID uuid);
+
+    @Query("select p.id as id, p.version as version, r.id as roleId, r.version as roleVersion from Person p left join p.roles r where p.id in :ids")
+    List<PersonVersionView> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Read path: DTOs straight from the result set, without managed entities or their dirty-checking snapshots.
+    @Query("select new com.ecc.nichole.registration.core.model.dto.PersonDto(p.id, p.uuid, p.name, p.address, p.birthDate, p.gwa, "
+        + "p.hireDate, p.employed, p.contactInformation, p.createdAt, p.updatedAt, p.version) from Person p where p.uuid = :uuid")
+    Optional<PersonDto> findDtoByUuid(@Param("uuid") UUID uuid);
+
+    @Query("select new com.ecc.nichole.registration.core.model.dto.PersonDto(p.id, p.uuid, p.name, p.address, p.birthDate, p.gwa, "
+        + "p.hireDate, p.employed, p.contactInformation, p.createdAt, p.updatedAt, p.version) from Person p where p.id in :ids")
+    List<PersonDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // The roles of a whole page in one query, to go with findDtosByIdIn.
+    @Query("select new com.ecc.nichole.registration.core.repo.PersonRoleRow(p.id, r.id, r.uuid, r.name, r.version) "
+        + "from Person p join p.roles r where p.id in :personIds")
+    List<PersonRoleRow> findRoleRowsByPersonIdIn(@Param("personIds") Collection<Long> personIds);
+
+    // Must be consumed inside a transaction, which is also what makes the driver honor the fetch size.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Person p left join fetch p.roles order by p.id")
+    Stream<Person> streamAllWithRoles();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.id as id, p.uuid as uuid, p.name.lastName as lastName, p.name.firstName as firstName, p.name.middleName as middleName from Person p")
+    Stream<PersonNameView> streamAllNames();
+}
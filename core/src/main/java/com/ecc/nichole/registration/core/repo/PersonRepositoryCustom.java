@@ -0,0 +1,15 @@
+package com.ecc.nichole.registration.core.repo;
+
+import com.ecc.nichole.registration.core.model.Person;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface PersonRepositoryCustom {
+
+    /**
+     * Returns the ids of one page of matching persons. Like {@code findIdSlice(Pageable)}, it reads one row past
+     * the page instead of counting all matches, which a selective index cannot answer cheaply.
+     */
+    Slice<Long> findIdSlice(Specification<Person> specification, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.ecc.nichole.registration.core.repo;
+
+import java.util.UUID;
+
+/**
+ * One role held by one person, read without hydrating either entity.
+ */
+public record PersonRoleRow(Long personId, Long roleId, UUID roleUuid, String roleName, long roleVersion) {
+}
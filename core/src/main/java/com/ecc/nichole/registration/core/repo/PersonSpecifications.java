@@ -0,0 +1,105 @@
+package com.ecc.nichole.registration.core.repo;
+
+import com.ecc.nichole.registration.core.model.Person;
+import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.PersonFilterDto;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Person predicates, each backed by an index from V4__create_filter_indexes.sql.
+ */
+public final class PersonSpecifications {
+
+    private PersonSpecifications() {
+    }
+
+    /**
+     * Combines every criterion set on the filter, or returns null when none is set. The filter's role UUIDs are
+     * expected already resolved to {@code roleIds}, see {@link #withAnyRole}.
+     */
+    public static Specification<Person> matching(PersonFilterDto filter, Collection<Long> roleIds) {
+        List<Specification<Person>> specifications = new ArrayList<>();
+
+        if (filter.getEmployed() != null) {
+            specifications.add(employed(filter.getEmployed()));
+        }
+        if (filter.getMinGwa() != null || filter.getMaxGwa() != null) {
+            specifications.add(between(root -> root.get("gwa"), filter.getMinGwa(), filter.getMaxGwa()));
+        }
+        if (filter.getHiredFrom() != null || filter.getHiredTo() != null) {
+            specifications.add(hiredBetween(filter.getHiredFrom(), filter.getHiredTo()));
+        }
+        if (filter.getBornFrom() != null || filter.getBornTo() != null) {
+            specifications.add(bornBetween(filter.getBornFrom(), filter.getBornTo()));
+        }
+        if (filter.getCity() != null && !filter.getCity().isBlank()) {
+            specifications.add(inCity(filter.getCity()));
+        }
+        if (filter.getZipcode() != null) {
+            specifications.add(withZipcode(filter.getZipcode()));
+        }
+        if (roleIds != null && !roleIds.isEmpty()) {
+            specifications.add(withAnyRole(roleIds));
+        }
+
+        return specifications.isEmpty() ? null : Specification.allOf(specifications);
+    }
+
+    public static Specification<Person> employed(boolean employed) {
+        return (root, query, builder) -> builder.equal(root.get("employed"), employed);
+    }
+
+    public static Specification<Person> hiredBetween(LocalDate from, LocalDate to) {
+        return between(root -> root.get("hireDate"), from, to);
+    }
+
+    public static Specification<Person> bornBetween(LocalDate from, LocalDate to) {
+        return between(root -> root.get("birthDate"), from, to);
+    }
+
+    public static Specification<Person> inCity(String city) {
+        return (root, query, builder) -> builder.equal(root.get("address").get("city"), city);
+    }
+
+    public static Specification<Person> withZipcode(int zipcode) {
+        return (root, query, builder) -> builder.equal(root.get("address").get("zipcode"), zipcode);
+    }
+
+    /**
+     * Uses a correlated EXISTS rather than a join, so a person holding several of the roles is still listed once
+     * and paging stays on person rows. Takes role ids rather than UUIDs: only a literal roles_id lets PostgreSQL
+     * see from the join table statistics that a role is rare and start from it.
+     */
+    public static Specification<Person> withAnyRole(Collection<Long> roleIds) {
+        return (root, query, builder) -> {
+            Subquery<Long> holders = query.subquery(Long.class);
+            Root<Person> holder = holders.correlate(root);
+            Join<Person, Role> role = holder.join("roles");
+            holders.select(role.get("id")).where(role.get("id").in(roleIds));
+            return builder.exists(holders);
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Person> between(Function<Root<Person>, Path<T>> attribute, T from, T to) {
+        return (root, query, builder) -> {
+            Path<T> path = attribute.apply(root);
+            if (from == null) {
+                return builder.lessThanOrEqualTo(path, to);
+            }
+            if (to == null) {
+                return builder.greaterThanOrEqualTo(path, from);
+            }
+            return builder.between(path, from, to);
+        };
+    }
+}
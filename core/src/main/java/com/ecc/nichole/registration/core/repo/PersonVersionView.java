@@ -0,0 +1,12 @@
+package com.ecc.nichole.registration.core.repo;
+
+public interface PersonVersionView {
+
+    Long getId();
+
+    Long getVersion();
+
+    Long getRoleId();
+
+    Long getRoleVersion();
+}
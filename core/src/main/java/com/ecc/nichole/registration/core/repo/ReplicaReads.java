@@ -0,0 +1,23 @@
+package com.ecc.nichole.registration.core.repo;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Marks transactions that read from a read replica. The infra module's routing data source binds {@link #REPLICA_READ}
+ * when it hands the current transaction a replica connection; rows read there may lag the primary, so they must not
+ * be put into caches that outlive the transaction.
+ */
+public final class ReplicaReads {
+
+    /**
+     * Transaction resource key bound to {@code Boolean.TRUE} while the current transaction reads from a replica.
+     */
+    public static final String REPLICA_READ = "registration.datasource.replica-read";
+
+    private ReplicaReads() {
+    }
+
+    public static boolean isReplicaRead() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READ);
+    }
+}
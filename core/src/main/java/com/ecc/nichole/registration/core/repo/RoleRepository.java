@@ -2,6 +2,9 @@ package com.ecc.nichole.registration.core.repo;
 
 import com.ecc.nichole.registration.core.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,7 +16,9 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     boolean existsByUuid(UUID uuid);
 
     @Transactional
-    void deleteByUuid(UUID uuid);
+    @Modifying
+    @Query("delete from Role r where r.uuid = :uuid")
+    int deleteByUuid(@Param("uuid") UUID uuid);
 
     Optional<Role> findByUuid(UUID uuid);
 }
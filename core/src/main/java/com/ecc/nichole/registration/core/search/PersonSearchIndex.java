@@ -0,0 +1,311 @@
+package com.ecc.nichole.registration.core.search;
+
+import com.ecc.nichole.registration.core.model.Name;
+import com.ecc.nichole.registration.core.model.Person;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the last, first and middle names of every person. Words are padded the way
+ * pg_trgm pads them, so "cruz" yields "  c", " cr", "cru", "ruz" and "uz ", and a query ranks persons by how
+ * many of its trigrams their names share. That tolerates typos and partial words without a database round trip.
+ * <p>
+ * Documents get increasing ids, so posting lists stay sorted by appending alone. Re-indexing or removing a person
+ * only tombstones its old document; postings are compacted once tombstones outnumber half of the live documents.
+ */
+@Component
+public class PersonSearchIndex {
+
+    // Share of the query's trigrams a name must contain to be returned at all.
+    private static final double MIN_SIMILARITY = 0.3;
+
+    // Match counts are kept in a byte per document.
+    private static final int MAX_QUERY_TRIGRAMS = Byte.MAX_VALUE;
+
+    // Names with more trigrams than this rank as if they were this long.
+    private static final int MAX_RANKED_TRIGRAMS = 0xFFF;
+
+    private static final int MIN_COMPACTION_SIZE = 1_024;
+
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IntList> postings = new HashMap<>();
+
+    private final BitSet removed = new BitSet();
+
+    private final UuidHandles uuids = new UuidHandles();
+
+    private long[] personIds = new long[INITIAL_CAPACITY];
+
+    private int[] trigramCounts = new int[INITIAL_CAPACITY];
+
+    private int documents;
+
+    private int removedDocuments;
+
+    public void index(Person person) {
+        // Not persisted yet, so a hit could not be resolved to a row.
+        if (person == null || person.getId() == null || person.getUuid() == null) {
+            return;
+        }
+
+        Name name = person.getName();
+        if (name == null) {
+            index(person.getId(), person.getUuid());
+        } else {
+            index(person.getId(), person.getUuid(), name.getLastName(), name.getFirstName(), name.getMiddleName());
+        }
+    }
+
+    public void index(long personId, UUID uuid, String... names) {
+        long[] trigrams = trigrams(names);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(uuid);
+
+            int document = documents++;
+            ensureCapacity(documents);
+            personIds[document] = personId;
+            trigramCounts[document] = trigrams.length;
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new IntList()).add(document);
+            }
+            uuids.put(uuid, document);
+
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(UUID uuid) {
+        lock.writeLock().lock();
+        try {
+            boolean found = removeDocument(uuid);
+            compactIfNeeded();
+            return found;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the persons whose names best match the query, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        long[] trigrams = trigrams(query);
+        if (trigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        if (trigrams.length > MAX_QUERY_TRIGRAMS) {
+            trigrams = Arrays.copyOf(trigrams, MAX_QUERY_TRIGRAMS);
+        }
+        int minShared = Math.max(1, (int) Math.ceil(trigrams.length * MIN_SIMILARITY));
+
+        lock.readLock().lock();
+        try {
+            List<IntList> matches = new ArrayList<>(trigrams.length);
+            for (long trigram : trigrams) {
+                IntList list = postings.get(trigram);
+                if (list != null) {
+                    matches.add(list);
+                }
+            }
+
+            // Documents are recorded the moment they reach the threshold, so the postings are scanned only once.
+            byte[] shared = new byte[documents];
+            int[] candidates = new int[64];
+            int candidateCount = 0;
+            for (IntList list : matches) {
+                for (int i = 0; i < list.size; i++) {
+                    int document = list.values[i];
+                    if (++shared[document] == minShared) {
+                        if (candidateCount == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                        }
+                        candidates[candidateCount++] = document;
+                    }
+                }
+            }
+
+            // Ranks are packed into longs so that only candidates beating the current top ones are boxed.
+            PriorityQueue<Long> best = new PriorityQueue<>(limit + 1);
+            for (int i = 0; i < candidateCount; i++) {
+                int document = candidates[i];
+                if (removed.get(document)) {
+                    continue;
+                }
+
+                long rank = rank(shared[document], trigramCounts[document], document);
+                if (best.size() < limit || rank > best.peek()) {
+                    best.offer(rank);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                ids.add(personIds[Integer.MAX_VALUE - (int) (best.poll() & Integer.MAX_VALUE)]);
+            }
+            Collections.reverse(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return uuids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap held by the index from its array lengths and the per-object overhead of each posting list.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = uuids.memoryBytes() + 8L * personIds.length + 4L * trigramCounts.length + removed.size() / 8;
+            for (IntList list : postings.values()) {
+                // Map entry, boxed key, list object and array header.
+                bytes += 32 + 16 + 24 + 16 + 4L * list.values.length;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long[] trigrams(String... texts) {
+        long[] trigrams = new long[16];
+        int count = 0;
+
+        for (String text : texts) {
+            String normalized = SearchText.normalize(text);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+
+            for (String word : normalized.split(" ")) {
+                String padded = "  " + word + " ";
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    if (count == trigrams.length) {
+                        trigrams = Arrays.copyOf(trigrams, count * 2);
+                    }
+                    trigrams[count++] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+                }
+            }
+        }
+
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private boolean removeDocument(UUID uuid) {
+        int document = uuids.remove(uuid);
+        if (document < 0) {
+            return false;
+        }
+
+        removed.set(document);
+        removedDocuments++;
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        if (removedDocuments < MIN_COMPACTION_SIZE || removedDocuments * 2 < documents - removedDocuments) {
+            return;
+        }
+
+        int[] remap = new int[documents];
+        int live = 0;
+        for (int document = 0; document < documents; document++) {
+            if (removed.get(document)) {
+                remap[document] = -1;
+                continue;
+            }
+
+            remap[document] = live;
+            personIds[live] = personIds[document];
+            trigramCounts[live] = trigramCounts[document];
+            live++;
+        }
+
+        // Remapping keeps ascending ids ascending, so the postings stay sorted.
+        postings.values().removeIf(list -> list.compact(remap) == 0);
+        uuids.compact(remap);
+        removed.clear();
+        documents = live;
+        removedDocuments = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= personIds.length) {
+            return;
+        }
+
+        int length = Math.max(capacity, personIds.length + (personIds.length >> 1));
+        personIds = Arrays.copyOf(personIds, length);
+        trigramCounts = Arrays.copyOf(trigramCounts, length);
+    }
+
+    // Most shared trigrams first, then the closest in length to the query, then the oldest.
+    private static long rank(int shared, int trigrams, int document) {
+        return (long) shared << 44 | (long) (MAX_RANKED_TRIGRAMS - Math.min(trigrams, MAX_RANKED_TRIGRAMS)) << 32 | (Integer.MAX_VALUE - document);
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = value;
+        }
+
+        int compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = remap[values[i]];
+                if (mapped >= 0) {
+                    values[kept++] = mapped;
+                }
+            }
+
+            size = kept;
+            if (kept < values.length / 2) {
+                values = Arrays.copyOf(values, Math.max(kept, 4));
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecc.nichole.registration.core.search;
+
+import com.ecc.nichole.registration.core.repo.PersonNameView;
+import com.ecc.nichole.registration.core.repo.PersonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills the {@link PersonSearchIndex} and the {@link PersonTypeahead} from the database once the application is up.
+ * Afterwards both are kept current by the person service, so rows written around it (such as a bulk load) only show
+ * up after a restart.
+ */
+@Component
+public class PersonSearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonSearchIndexLoader.class);
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
+    @Autowired
+    private PersonTypeahead personTypeahead;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        // Only the name columns are read, so nothing enters the persistence context however large the table is.
+        transaction.executeWithoutResult(status -> {
+            try (Stream<PersonNameView> names = personRepository.streamAllNames()) {
+                names.forEach(name -> {
+                    personSearchIndex.index(name.getId(), name.getUuid(), name.getLastName(), name.getFirstName(), name.getMiddleName());
+                    personTypeahead.index(name.getId(), name.getUuid(), name.getLastName(), name.getFirstName(), name.getMiddleName());
+                });
+            }
+        });
+
+        log.info("Indexed {} persons in {} ms; search index holds ~{} KiB, typeahead ~{} KiB.", personSearchIndex.size(),
+            (System.nanoTime() - start) / 1_000_000, personSearchIndex.memoryBytes() / 1024, personTypeahead.memoryBytes() / 1024);
+    }
+}
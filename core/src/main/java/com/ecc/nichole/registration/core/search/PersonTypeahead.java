@@ -0,0 +1,377 @@
+package com.ecc.nichole.registration.core.search;
+
+import com.ecc.nichole.registration.core.model.Name;
+import com.ecc.nichole.registration.core.model.Person;
+import com.ecc.nichole.registration.core.model.dto.PersonSummaryDto;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix index for name autocompletion. Every person is keyed twice, as "last first" and as "first last", folded
+ * the way {@link SearchText} folds them. Keys are packed into one UTF-8 arena and ordered through a sorted array
+ * of entry numbers, so a prefix is a binary search away and a million persons fit in tens of megabytes instead of
+ * the hundreds a node-per-character trie takes. Person {@code p} owns entries {@code 2p} and {@code 2p + 1}.
+ * <p>
+ * New entries go to a small sorted delta that is merged into the main array once it fills up. Removed persons are
+ * skipped at lookup and dropped by a compaction once they outnumber half of the live ones.
+ */
+@Component
+public class PersonTypeahead {
+
+    // Bounds the copy made by each insert into the delta, and how often the main array is rewritten.
+    private static final int MAX_PENDING_ENTRIES = 4_096;
+
+    private static final int MIN_COMPACTION_SIZE = 1_024;
+
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    private static final byte NAME_SEPARATOR = 0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final UuidHandles uuids = new UuidHandles();
+
+    private final BitSet removed = new BitSet();
+
+    private long[] personIds = new long[INITIAL_CAPACITY];
+
+    // Display names as "last\0first\0middle"; person p spans nameOffsets[p] to nameOffsets[p + 1].
+    private byte[] names = new byte[INITIAL_CAPACITY * 32];
+
+    private int[] nameOffsets = new int[INITIAL_CAPACITY + 1];
+
+    // Folded keys; entry e spans keyOffsets[e] to keyOffsets[e + 1].
+    private byte[] keys = new byte[INITIAL_CAPACITY * 32];
+
+    private int[] keyOffsets = new int[INITIAL_CAPACITY * 2 + 1];
+
+    private int[] sorted = new int[0];
+
+    private int sortedSize;
+
+    private int[] pending = new int[MAX_PENDING_ENTRIES];
+
+    private int pendingSize;
+
+    private int persons;
+
+    private int removedPersons;
+
+    public void index(Person person) {
+        // Not persisted yet, so there is no id to hand out.
+        if (person == null || person.getId() == null || person.getUuid() == null) {
+            return;
+        }
+
+        Name name = person.getName();
+        if (name == null) {
+            index(person.getId(), person.getUuid(), null, null, null);
+        } else {
+            index(person.getId(), person.getUuid(), name.getLastName(), name.getFirstName(), name.getMiddleName());
+        }
+    }
+
+    public void index(long personId, UUID uuid, String lastName, String firstName, String middleName) {
+        byte[] name = (nullToEmpty(lastName) + (char) NAME_SEPARATOR + nullToEmpty(firstName) + (char) NAME_SEPARATOR
+            + nullToEmpty(middleName)).getBytes(StandardCharsets.UTF_8);
+        String last = SearchText.normalize(lastName);
+        String first = SearchText.normalize(firstName);
+        byte[] lastFirst = join(last, first);
+        byte[] firstLast = join(first, last);
+
+        lock.writeLock().lock();
+        try {
+            removePerson(uuid);
+
+            int person = persons++;
+            ensureCapacity(person + 1, name.length, lastFirst.length + firstLast.length);
+            personIds[person] = personId;
+            System.arraycopy(name, 0, names, nameOffsets[person], name.length);
+            nameOffsets[person + 1] = nameOffsets[person] + name.length;
+            appendKey(2 * person, lastFirst);
+            appendKey(2 * person + 1, firstLast);
+            uuids.put(uuid, person);
+
+            if (pendingSize + 2 > pending.length) {
+                mergePending();
+            }
+            insertPending(2 * person);
+            insertPending(2 * person + 1);
+
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(UUID uuid) {
+        lock.writeLock().lock();
+        try {
+            boolean found = removePerson(uuid);
+            compactIfNeeded();
+            return found;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} persons whose "last first" or "first last" name starts with the prefix,
+     * in alphabetical order of the matching key.
+     */
+    public List<PersonSummaryDto> complete(String prefix, int limit) {
+        byte[] folded = SearchText.normalize(prefix).getBytes(StandardCharsets.UTF_8);
+        if (folded.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PersonSummaryDto> completions = new ArrayList<>(Math.min(limit, 64));
+            int[] seen = new int[limit];
+            int i = lowerBound(sorted, sortedSize, folded);
+            int j = lowerBound(pending, pendingSize, folded);
+
+            while (completions.size() < limit) {
+                boolean fromSorted = i < sortedSize && startsWith(sorted[i], folded);
+                boolean fromPending = j < pendingSize && startsWith(pending[j], folded);
+                if (!fromSorted && !fromPending) {
+                    break;
+                }
+
+                int entry;
+                if (fromSorted && (!fromPending || compare(sorted[i], pending[j]) < 0)) {
+                    entry = sorted[i++];
+                } else {
+                    entry = pending[j++];
+                }
+
+                int person = entry / 2;
+                if (removed.get(person) || contains(seen, completions.size(), person)) {
+                    continue;
+                }
+                seen[completions.size()] = person;
+                completions.add(summary(person));
+            }
+            return completions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return uuids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the heap held by the index, which is made of arrays only and can therefore be counted exactly
+     * up to the object headers.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return uuids.memoryBytes() + 8L * personIds.length + names.length + 4L * nameOffsets.length
+                + keys.length + 4L * keyOffsets.length + 4L * sorted.length + 4L * pending.length + removed.size() / 8;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PersonSummaryDto summary(int person) {
+        String[] parts = new String(names, nameOffsets[person], nameOffsets[person + 1] - nameOffsets[person], StandardCharsets.UTF_8)
+            .split(String.valueOf((char) NAME_SEPARATOR), -1);
+        Name name = new Name.Builder()
+            .lastName(emptyToNull(parts[0]))
+            .firstName(emptyToNull(parts[1]))
+            .middleName(emptyToNull(parts[2]))
+            .build();
+        return new PersonSummaryDto(personIds[person], uuids.uuid(person), name);
+    }
+
+    private boolean removePerson(UUID uuid) {
+        int person = uuids.remove(uuid);
+        if (person < 0) {
+            return false;
+        }
+
+        removed.set(person);
+        removedPersons++;
+        return true;
+    }
+
+    private void appendKey(int entry, byte[] key) {
+        System.arraycopy(key, 0, keys, keyOffsets[entry], key.length);
+        keyOffsets[entry + 1] = keyOffsets[entry] + key.length;
+    }
+
+    private void insertPending(int entry) {
+        int position = upperBound(pending, pendingSize, entry);
+        System.arraycopy(pending, position, pending, position + 1, pendingSize - position);
+        pending[position] = entry;
+        pendingSize++;
+    }
+
+    /**
+     * Merges the delta into the main array from the back, locating each delta entry by binary search and moving
+     * the main entries in between as one block. That costs a memory move plus a few comparisons per delta entry,
+     * rather than a comparison per main entry, which keeps the write lock short on large indexes.
+     */
+    private void mergePending() {
+        int total = sortedSize + pendingSize;
+        if (total > sorted.length) {
+            sorted = Arrays.copyOf(sorted, Math.max(total, sorted.length + (sorted.length >> 1)));
+        }
+
+        int end = total;
+        int unmoved = sortedSize;
+        for (int j = pendingSize - 1; j >= 0; j--) {
+            int position = upperBound(sorted, unmoved, pending[j]);
+            int length = unmoved - position;
+            System.arraycopy(sorted, position, sorted, end - length, length);
+            end -= length;
+            unmoved = position;
+            sorted[--end] = pending[j];
+        }
+
+        sortedSize = total;
+        pendingSize = 0;
+    }
+
+    private void compactIfNeeded() {
+        if (removedPersons < MIN_COMPACTION_SIZE || removedPersons * 2 < persons - removedPersons) {
+            return;
+        }
+
+        mergePending();
+        int[] remap = new int[persons];
+        int live = 0;
+        int nameLength = 0;
+        int keyLength = 0;
+        for (int person = 0; person < persons; person++) {
+            if (removed.get(person)) {
+                remap[person] = -1;
+                continue;
+            }
+
+            // Moves never overlap forwards, so the arenas can be compacted in place.
+            remap[person] = live;
+            personIds[live] = personIds[person];
+            nameLength = move(names, nameOffsets, person, live, nameLength);
+            keyLength = move(keys, keyOffsets, 2 * person, 2 * live, keyLength);
+            keyLength = move(keys, keyOffsets, 2 * person + 1, 2 * live + 1, keyLength);
+            live++;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < sortedSize; i++) {
+            int person = remap[sorted[i] / 2];
+            if (person >= 0) {
+                sorted[kept++] = 2 * person + sorted[i] % 2;
+            }
+        }
+        sortedSize = kept;
+        uuids.compact(remap);
+        removed.clear();
+        persons = live;
+        removedPersons = 0;
+    }
+
+    private int move(byte[] arena, int[] offsets, int from, int to, int end) {
+        int start = offsets[from];
+        int length = offsets[from + 1] - start;
+        System.arraycopy(arena, start, arena, end, length);
+        offsets[to] = end;
+        offsets[to + 1] = end + length;
+        return end + length;
+    }
+
+    private void ensureCapacity(int persons, int nameLength, int keyLength) {
+        if (persons > personIds.length) {
+            int length = Math.max(persons, personIds.length + (personIds.length >> 1));
+            personIds = Arrays.copyOf(personIds, length);
+            nameOffsets = Arrays.copyOf(nameOffsets, length + 1);
+            keyOffsets = Arrays.copyOf(keyOffsets, 2 * length + 1);
+        }
+        names = ensureArena(names, nameOffsets[persons - 1] + nameLength);
+        keys = ensureArena(keys, keyOffsets[2 * (persons - 1)] + keyLength);
+    }
+
+    private int lowerBound(int[] entries, int size, byte[] prefix) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int entry = entries[middle];
+            if (Arrays.compareUnsigned(keys, keyOffsets[entry], keyOffsets[entry + 1], prefix, 0, prefix.length) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // First position whose entry sorts after the given one.
+    private int upperBound(int[] entries, int size, int entry) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(entries[middle], entry) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean startsWith(int entry, byte[] prefix) {
+        int start = keyOffsets[entry];
+        return keyOffsets[entry + 1] - start >= prefix.length
+            && Arrays.equals(keys, start, start + prefix.length, prefix, 0, prefix.length);
+    }
+
+    // Equal keys keep insertion order, so older persons complete first.
+    private int compare(int entry, int other) {
+        int result = Arrays.compareUnsigned(keys, keyOffsets[entry], keyOffsets[entry + 1], keys, keyOffsets[other], keyOffsets[other + 1]);
+        return result != 0 ? result : Integer.compare(entry, other);
+    }
+
+    private static byte[] ensureArena(byte[] arena, int length) {
+        return length <= arena.length ? arena : Arrays.copyOf(arena, Math.max(length, arena.length + (arena.length >> 1)));
+    }
+
+    private static byte[] join(String first, String second) {
+        return (first.isEmpty() || second.isEmpty() ? first + second : first + " " + second).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecc.nichole.registration.core.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+final class SearchText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchText() {
+    }
+
+    /**
+     * Folds a name to lower case without diacritics, with its words separated by single spaces,
+     * so that "Avañez-Dela Cruz " becomes "avanez dela cruz".
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        return WORD_SEPARATOR.matcher(folded).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecc.nichole.registration.core.search;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Two-way map between UUIDs and the dense int handles the in-memory indexes address their arrays with. The UUID
+ * bits are kept per handle and the reverse lookup is an open-addressing table of handles, which for a million
+ * persons costs about a third of a {@code HashMap<UUID, Integer>}. Not thread-safe; owners hold their own lock.
+ */
+final class UuidHandles {
+
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    private static final int EMPTY_SLOT = 0;
+
+    private static final int REMOVED_SLOT = -1;
+
+    private long[] highBits = new long[INITIAL_CAPACITY];
+
+    private long[] lowBits = new long[INITIAL_CAPACITY];
+
+    // Stores handle + 1, so that zero marks an empty slot.
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    private int usedSlots;
+
+    private int size;
+
+    int get(UUID uuid) {
+        int slot = findSlot(uuid);
+        return slot < 0 ? -1 : slots[slot] - 1;
+    }
+
+    int remove(UUID uuid) {
+        int slot = findSlot(uuid);
+        if (slot < 0) {
+            return -1;
+        }
+
+        int handle = slots[slot] - 1;
+        slots[slot] = REMOVED_SLOT;
+        size--;
+        return handle;
+    }
+
+    /**
+     * Maps a UUID that is not currently mapped to the given handle.
+     */
+    void put(UUID uuid, int handle) {
+        if (handle >= highBits.length) {
+            int length = Math.max(handle + 1, highBits.length + (highBits.length >> 1));
+            highBits = Arrays.copyOf(highBits, length);
+            lowBits = Arrays.copyOf(lowBits, length);
+        }
+        highBits[handle] = uuid.getMostSignificantBits();
+        lowBits[handle] = uuid.getLeastSignificantBits();
+
+        // Removed slots still lengthen probes, so they count towards the load factor until the next rehash.
+        if ((usedSlots + 1) * 2 > slots.length) {
+            rehash(size + 1);
+        }
+        insert(handle);
+        size++;
+    }
+
+    UUID uuid(int handle) {
+        return new UUID(highBits[handle], lowBits[handle]);
+    }
+
+    /**
+     * Moves every handle {@code h} to {@code remap[h]}. Handles remapped to -1 must have been removed already, and
+     * the remapping must keep ascending handles ascending.
+     */
+    void compact(int[] remap) {
+        for (int handle = 0; handle < remap.length; handle++) {
+            if (remap[handle] >= 0) {
+                highBits[remap[handle]] = highBits[handle];
+                lowBits[remap[handle]] = lowBits[handle];
+            }
+        }
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (slots[slot] > 0) {
+                slots[slot] = remap[slots[slot] - 1] + 1;
+            }
+        }
+        rehash(size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return 8L * (highBits.length + lowBits.length) + 4L * slots.length;
+    }
+
+    private int findSlot(UUID uuid) {
+        int mask = slots.length - 1;
+        for (int slot = hash(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == EMPTY_SLOT) {
+                return -1;
+            }
+            if (entry != REMOVED_SLOT
+                    && highBits[entry - 1] == uuid.getMostSignificantBits()
+                    && lowBits[entry - 1] == uuid.getLeastSignificantBits()) {
+                return slot;
+            }
+        }
+    }
+
+    private void insert(int handle) {
+        int mask = slots.length - 1;
+        for (int slot = hash(highBits[handle], lowBits[handle]) & mask; ; slot = (slot + 1) & mask) {
+            if (slots[slot] == EMPTY_SLOT) {
+                usedSlots++;
+                slots[slot] = handle + 1;
+                return;
+            }
+            if (slots[slot] == REMOVED_SLOT) {
+                slots[slot] = handle + 1;
+                return;
+            }
+        }
+    }
+
+    private void rehash(int expectedSize) {
+        int capacity = INITIAL_CAPACITY * 2;
+        while (capacity < expectedSize * 4) {
+            capacity <<= 1;
+        }
+
+        int[] previous = slots;
+        slots = new int[capacity];
+        usedSlots = 0;
+        for (int entry : previous) {
+            if (entry > 0) {
+                insert(entry - 1);
+            }
+        }
+    }
+
+    private static int hash(long highBits, long lowBits) {
+        long hash = (highBits ^ lowBits) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -1,21 +1,51 @@
 package com.ecc.nichole.registration.core.service;
 
+import com.ecc.nichole.registration.core.export.ExportFormat;
 import com.ecc.nichole.registration.core.model.ContactInformation;
+import com.ecc.nichole.registration.core.model.dto.PersonBatchResultDto;
+import com.ecc.nichole.registration.core.model.dto.IndexStatsDto;
 import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.ecc.nichole.registration.core.model.dto.PersonFilterDto;
+import com.ecc.nichole.registration.core.model.dto.PersonImportResultDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSliceDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSummaryDto;
 import com.ecc.nichole.registration.core.model.dto.RoleDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface PersonService {
     void create(PersonDto person);
+    List<PersonBatchResultDto> createAll(List<PersonDto> persons);
+    PersonImportResultDto importAll(InputStream inputStream, Consumer<PersonBatchResultDto> failures) throws IOException;
     Optional<PersonDto> getByUuid(UUID uuid);
+    Optional<PersonDto> getByUuid(UUID uuid, String versionTag);
+    Optional<String> getVersionTag(UUID uuid);
     List<PersonDto> getAll(String sortBy, String order, Pageable pageable);
+    List<PersonDto> getAll(PersonFilterDto filter, String sortBy, String order, Pageable pageable);
+    Optional<List<PersonDto>> getAll(PersonFilterDto filter, String sortBy, String order, Pageable pageable, Predicate<String> notModified);
+    PersonSliceDto getAllByCursor(String cursor, String order, int size);
+    List<PersonDto> search(String query, int limit);
+    List<PersonSummaryDto> complete(String prefix, int limit);
+    List<IndexStatsDto> getIndexStats();
+    void exportAll(ExportFormat format, OutputStream outputStream) throws IOException;
     List<RoleDto> getAllRoles(UUID uuid, Pageable pageable);
     Optional<PersonDto> patchContactInformation(UUID uuid, ContactInformation updatedContactInformation);
+    Optional<PersonDto> patchContactInformation(UUID uuid, ContactInformation updatedContactInformation, String ifMatch);
     Optional<PersonDto> patchRoles(UUID uuid, List<RoleDto> updatedRole);
+    Optional<PersonDto> patchRoles(UUID uuid, List<RoleDto> updatedRole, String ifMatch);
+    Optional<PersonDto> mergePatch(UUID uuid, JsonNode patch);
+    Optional<PersonDto> mergePatch(UUID uuid, JsonNode patch, String ifMatch);
     Optional<PersonDto> update(UUID uuid, PersonDto person);
+    Optional<PersonDto> update(UUID uuid, PersonDto person, String ifMatch);
     boolean delete(UUID uuid);
-}
\ No newline at end of file
+    int deleteAll(List<UUID> uuids);
+}
\ No newline at end of file
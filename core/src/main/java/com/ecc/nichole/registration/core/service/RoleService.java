@@ -1,5 +1,6 @@
 package com.ecc.nichole.registration.core.service;
 
+import com.ecc.nichole.registration.core.model.dto.CacheStatsDto;
 import com.ecc.nichole.registration.core.model.dto.RoleDto;
 
 import java.util.List;
@@ -17,4 +18,6 @@ public interface RoleService {
     void update(UUID uuid, RoleDto role);
 
     boolean delete(UUID uuid);
+
+    List<CacheStatsDto> getCacheStats();
 }
\ No newline at end of file
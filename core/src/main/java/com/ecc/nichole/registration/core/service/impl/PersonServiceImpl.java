@@ -1,62 +1,412 @@
 package com.ecc.nichole.registration.core.service.impl;
 
+import com.ecc.nichole.registration.core.cache.PersonCache;
+import com.ecc.nichole.registration.core.cache.RoleCache;
+import com.ecc.nichole.registration.core.export.ExportFormat;
+import com.ecc.nichole.registration.core.export.PersonExportWriter;
 import com.ecc.nichole.registration.core.model.ContactInformation;
 import com.ecc.nichole.registration.core.model.Person;
 import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.IndexStatsDto;
+import com.ecc.nichole.registration.core.model.dto.PersonBatchResultDto;
 import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.ecc.nichole.registration.core.model.dto.PersonFilterDto;
+import com.ecc.nichole.registration.core.model.dto.PersonImportResultDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSliceDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSummaryDto;
 import com.ecc.nichole.registration.core.model.dto.RoleDto;
 import com.ecc.nichole.registration.core.repo.PersonRepository;
+import com.ecc.nichole.registration.core.repo.PersonRoleRow;
+import com.ecc.nichole.registration.core.repo.PersonSpecifications;
+import com.ecc.nichole.registration.core.repo.PersonVersionView;
+import com.ecc.nichole.registration.core.repo.ReplicaReads;
 import com.ecc.nichole.registration.core.repo.RoleRepository;
+import com.ecc.nichole.registration.core.search.PersonSearchIndex;
+import com.ecc.nichole.registration.core.search.PersonTypeahead;
 import com.ecc.nichole.registration.core.service.PersonService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "registration.service")
 public class PersonServiceImpl implements PersonService {
 
+    // Keep in step with hibernate.jdbc.batch_size so each chunk flushes as one JDBC batch.
+    private static final int BATCH_SIZE = 50;
+
+    private static final int MAX_BATCH_REQUEST_SIZE = 10_000;
+    // Keeps the IN list well below the driver's bind parameter limit.
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+    // Matches the fetch size of PersonRepository.streamAllWithRoles.
+    private static final int EXPORT_FLUSH_SIZE = 500;
+    // Each import transaction flushes as IMPORT_CHUNK_SIZE / BATCH_SIZE JDBC batches.
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_COMPLETIONS = 50;
+    private static final int MAX_UPDATE_ATTEMPTS = 4;
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(5);
+    private static final List<String> READ_ONLY_FIELDS = List.of("id", "uuid", "createdAt", "updatedAt");
+
     @Autowired
     private PersonRepository personRepository;
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private RoleCache roleCache;
+
+    @Autowired
+    private PersonCache personCache;
+
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
+    @Autowired
+    private PersonTypeahead personTypeahead;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public void create(PersonDto person) {
-        personRepository.save(fromDto(person));
+        Person newPerson = fromDto(person);
+        personRepository.save(newPerson);
+        personSearchIndex.index(newPerson);
+        personTypeahead.index(newPerson);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<PersonBatchResultDto> createAll(List<PersonDto> persons) {
+        if (persons.size() > MAX_BATCH_REQUEST_SIZE) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Cannot import more than " + MAX_BATCH_REQUEST_SIZE + " persons in one batch.");
+        }
+
+        PersonBatchResultDto[] results = new PersonBatchResultDto[persons.size()];
+        Consumer<PersonBatchResultDto> report = result -> results[result.getIndex()] = result;
+        List<PersonDto> chunk = new ArrayList<>(BATCH_SIZE);
+        List<Integer> indexes = new ArrayList<>(BATCH_SIZE);
+
+        for (int index = 0; index < persons.size(); index++) {
+            PersonDto person = persons.get(index);
+            String violations = validate(person);
+
+            if (violations != null) {
+                results[index] = PersonBatchResultDto.failure(index, person != null ? person.getUuid() : null, violations);
+                continue;
+            }
+
+            chunk.add(person);
+            indexes.add(index);
+            if (chunk.size() == BATCH_SIZE) {
+                saveChunk(chunk, indexes, report);
+                chunk.clear();
+                indexes.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, indexes, report);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public PersonImportResultDto importAll(InputStream inputStream, Consumer<PersonBatchResultDto> failures) throws IOException {
+        PersonImportResultDto summary = new PersonImportResultDto();
+        // Results are indexed by the line the record starts on.
+        Consumer<PersonBatchResultDto> report = result -> {
+            if (result.isSuccess()) {
+                summary.setImported(summary.getImported() + 1);
+            } else {
+                summary.setFailed(summary.getFailed() + 1);
+                failures.accept(result);
+            }
+        };
+
+        ObjectReader reader = objectMapper.readerFor(PersonDto.class);
+        List<PersonDto> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<Integer> lines = new ArrayList<>(IMPORT_CHUNK_SIZE);
+
+        // Records are pulled only after the previous chunk has committed, so a slow database throttles the reader.
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            boolean skipRemainder = false;
+            while (true) {
+                int line = parser.currentLocation().getLineNr();
+                PersonDto person;
+                try {
+                    if (skipRemainder) {
+                        skipToNextRecord(parser);
+                        skipRemainder = false;
+                    }
+                    if (parser.nextToken() == null) {
+                        break;
+                    }
+                    line = parser.currentTokenLocation().getLineNr();
+                    summary.setProcessed(summary.getProcessed() + 1);
+                    person = reader.readValue(parser);
+                } catch (JsonProcessingException e) {
+                    JsonParseException malformed = findParseException(e);
+                    if (malformed != null) {
+                        // Malformed JSON leaves the parser without a reliable position to resume from.
+                        report.accept(PersonBatchResultDto.failure(malformed.getLocation() != null ? malformed.getLocation().getLineNr() : line,
+                            null, "Malformed JSON, import stopped: " + malformed.getOriginalMessage()));
+                        break;
+                    }
+
+                    report.accept(PersonBatchResultDto.failure(line, null, e.getOriginalMessage()));
+                    skipRemainder = true;
+                    continue;
+                }
+
+                String violations = validate(person);
+                if (violations != null) {
+                    report.accept(PersonBatchResultDto.failure(line, person != null ? person.getUuid() : null, violations));
+                    continue;
+                }
+
+                chunk.add(person);
+                lines.add(line);
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    saveImportChunk(chunk, lines, report);
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            saveImportChunk(chunk, lines, report);
+        }
+
+        return summary;
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
     public Optional<PersonDto> getByUuid(UUID uuid) {
-        return Optional.ofNullable(toDto(personRepository.findByUuid(uuid).orElse(null)));
+        return personCache.get(uuid).or(() -> loadByUuid(uuid));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
+    public Optional<PersonDto> getByUuid(UUID uuid, String versionTag) {
+        Optional<PersonDto> cached = personCache.get(uuid);
+        if (cached.isEmpty()) {
+            return loadByUuid(uuid);
+        }
+        if (versionTag.equals(versionTag(cached.get().getId(), cached.get().getVersion(), cached.get().getRoles()))) {
+            return cached;
+        }
+
+        // Another instance changed the person or one of its roles after it was cached here.
+        personCache.evict(uuid);
+        return loadByUuid(uuid);
+    }
+
+    private Optional<PersonDto> loadByUuid(UUID uuid) {
+        return personRepository.findDtoByUuid(uuid)
+            .map(person -> {
+                addRoles(Map.of(person.getId(), person));
+                // A lagging replica may return a person the primary has already changed; keep it out of the shared cache.
+                if (!ReplicaReads.isReplicaRead()) {
+                    personCache.put(uuid, person);
+                }
+                return person;
+            });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
+    public Optional<String> getVersionTag(UUID uuid) {
+        List<PersonVersionView> versions = personRepository.findVersionsByUuid(uuid);
+        return versions.isEmpty() ? Optional.empty() : Optional.of(versionTag(List.of(versions.get(0).getId()), versions));
     }
 
     @Override
     @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
     public List<PersonDto> getAll(String sortBy, String orderBy, Pageable pageable) {
+        return getAll(new PersonFilterDto(), sortBy, orderBy, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
+    public List<PersonDto> getAll(PersonFilterDto filter, String sortBy, String orderBy, Pageable pageable) {
+        return findAllDtos(findIds(filter, sortBy, orderBy, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
+    public Optional<List<PersonDto>> getAll(PersonFilterDto filter, String sortBy, String orderBy, Pageable pageable,
+                                            Predicate<String> notModified) {
+        // The tag and the page come from the same ids, so a changed page costs one id query, not two.
+        List<Long> ids = findIds(filter, sortBy, orderBy, pageable);
+        if (notModified.test(versionTag(ids, ids.isEmpty() ? List.of() : personRepository.findVersionsByIdIn(ids)))) {
+            return Optional.empty();
+        }
+        return Optional.of(findAllDtos(ids));
+    }
+
+    private List<Long> findIds(PersonFilterDto filter, String sortBy, String orderBy, Pageable pageable) {
+        checkRange("gwa", filter.getMinGwa(), filter.getMaxGwa());
+        checkRange("hire date", filter.getHiredFrom(), filter.getHiredTo());
+        checkRange("birth date", filter.getBornFrom(), filter.getBornTo());
+
         Sort sort = Sort.by(Sort.Direction.fromString(orderBy), sortBy);
         pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
 
-        return personRepository.findAll(pageable)
-            .map(this::toDto)
-            .stream().collect(Collectors.toList());
+        List<Long> roleIds = List.of();
+        if (!filter.getRoles().isEmpty()) {
+            roleIds = filter.getRoles().stream()
+                .map(roleCache::findByUuid)
+                .flatMap(Optional::stream)
+                .map(RoleDto::getId)
+                .toList();
+            if (roleIds.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        Specification<Person> specification = PersonSpecifications.matching(filter, roleIds);
+        Slice<Long> slice = specification == null
+            ? personRepository.findIdSlice(pageable)
+            : personRepository.findIdSlice(specification, pageable);
+        return slice.getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
+    public PersonSliceDto getAllByCursor(String cursor, String order, int size) {
+        String[] key = decodeCursor(cursor);
+        Sort.Direction direction = Sort.Direction.fromString(key != null ? key[0] : order);
+        Sort byLastName = Sort.by(direction, "name.lastName", "id");
+        Sort byId = Sort.by(direction, "id");
+
+        // Persons without a last name sort after all others, as nulls do in PostgreSQL's last name index. They are paged
+        // by id in a segment of their own, so the order does not depend on how the database sorts nulls.
+        Slice<Long> slice;
+        if (key == null && direction.isAscending()) {
+            slice = continueSlice(personRepository.findIdSliceWithLastName(PageRequest.of(0, size, byLastName)), size,
+                remaining -> personRepository.findIdSliceWithoutLastName(PageRequest.of(0, remaining, byId)));
+        } else if (key == null) {
+            slice = continueSlice(personRepository.findIdSliceWithoutLastName(PageRequest.of(0, size, byId)), size,
+                remaining -> personRepository.findIdSliceWithLastName(PageRequest.of(0, remaining, byLastName)));
+        } else if (key.length < 3) {
+            Long id = Long.valueOf(key[1]);
+            slice = direction.isAscending()
+                ? personRepository.findIdSliceWithoutLastNameAfter(id, PageRequest.of(0, size, byId))
+                : continueSlice(personRepository.findIdSliceWithoutLastNameBefore(id, PageRequest.of(0, size, byId)), size,
+                    remaining -> personRepository.findIdSliceWithLastName(PageRequest.of(0, remaining, byLastName)));
+        } else if (direction.isAscending()) {
+            slice = continueSlice(personRepository.findIdSliceAfter(key[2], Long.valueOf(key[1]), PageRequest.of(0, size, byLastName)), size,
+                remaining -> personRepository.findIdSliceWithoutLastName(PageRequest.of(0, remaining, byId)));
+        } else {
+            slice = personRepository.findIdSliceBefore(key[2], Long.valueOf(key[1]), PageRequest.of(0, size, byLastName));
+        }
+
+        List<PersonDto> persons = findAllDtos(slice.getContent());
+        String nextCursor = slice.hasNext() && !persons.isEmpty()
+            ? encodeCursor(direction, persons.get(persons.size() - 1))
+            : null;
+
+        return new PersonSliceDto(persons, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
+    public List<PersonDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query cannot be blank.");
+        }
+
+        return findAllDtos(personSearchIndex.search(query, Math.min(limit, MAX_SEARCH_RESULTS)));
     }
 
     @Override
     @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
+    public List<PersonSummaryDto> complete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Typeahead prefix cannot be blank.");
+        }
+
+        return personTypeahead.complete(prefix, Math.min(limit, MAX_COMPLETIONS));
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<IndexStatsDto> getIndexStats() {
+        return List.of(
+            new IndexStatsDto("search", personSearchIndex.size(), personSearchIndex.memoryBytes()),
+            new IndexStatsDto("typeahead", personTypeahead.size(), personTypeahead.memoryBytes())
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
     public List<RoleDto> getAllRoles(UUID uuid, Pageable pageable) {
         PersonDto person = toDto(
             personRepository.findByUuid(uuid)
@@ -71,89 +421,509 @@ public class PersonServiceImpl implements PersonService {
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public Optional<PersonDto> patchContactInformation(UUID uuid, ContactInformation updatedContactInformation) {
-        return personRepository.findByUuid(uuid)
-            .map(existingPerson -> {
-                ContactInformation currentContactInformation = existingPerson.getContactInformation();
+        return patchContactInformation(uuid, updatedContactInformation, null);
+    }
 
-                ContactInformation updatedContactInfo = currentContactInformation.toBuilder()
-                    .email(updatedContactInformation.getEmail())
-                    .landline(updatedContactInformation.getLandline())
-                    .mobileNumber(updatedContactInformation.getMobileNumber())
-                    .build();
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public Optional<PersonDto> patchContactInformation(UUID uuid, ContactInformation updatedContactInformation, String ifMatch) {
+        // Mutating the managed person lets dirty checking write only the contact columns, where saving a
+        // rebuilt copy would merge it with another SELECT and then UPDATE every column.
+        return updatePerson(uuid, ifMatch, false, existingPerson ->
+            existingPerson.setContactInformation(new ContactInformation.Builder()
+                .email(updatedContactInformation.getEmail())
+                .landline(updatedContactInformation.getLandline())
+                .mobileNumber(updatedContactInformation.getMobileNumber())
+                .build()));
+    }
 
-                Person updatedPerson = existingPerson.toBuilder()
-                    .contactInformation(updatedContactInfo)
-                    .build();
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public Optional<PersonDto> patchRoles(UUID uuid, List<RoleDto> updatedRoles) {
+        return patchRoles(uuid, updatedRoles, null);
+    }
 
-                return personRepository.save(updatedPerson);
-            })
-            .map(this::toDto);
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public Optional<PersonDto> patchRoles(UUID uuid, List<RoleDto> updatedRoles, String ifMatch) {
+        return updatePerson(uuid, ifMatch, false, existingPerson -> {
+            Set<Long> roleIds = updatedRoles.stream()
+                .map(RoleDto::getId)
+                .collect(Collectors.toSet());
+
+            Map<Long, RoleDto> validRoles = roleCache.findAllById(roleIds);
+
+            Set<Long> invalidRoleIds = roleIds.stream()
+                .filter(roleId -> !validRoles.containsKey(roleId))
+                .collect(Collectors.toSet());
+
+            if (!invalidRoleIds.isEmpty()) {
+                String invalidIds = invalidRoleIds.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot update person's role for non-existing IDs: " + invalidIds);
+            }
+
+            Set<Role> roles = validRoles.keySet().stream()
+                .map(roleRepository::getReferenceById)
+                .collect(Collectors.toSet());
+
+            replaceRoles(existingPerson, roles);
+        });
     }
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
-    public Optional<PersonDto> patchRoles(UUID uuid, List<RoleDto> updatedRoles) {
-        return personRepository.findByUuid(uuid)
-            .map(existingPerson -> {
-                Set<Long> roleIds = updatedRoles.stream()
-                    .map(RoleDto::getId)
-                    .collect(Collectors.toSet());
-
-                Set<Role> validRoles = new HashSet<>(roleRepository.findAllById(roleIds));
-
-                Set<Long> invalidRoleIds = roleIds.stream()
-                    .filter(roleId -> validRoles.stream().noneMatch(role -> role.getId().equals(roleId)))
-                    .collect(Collectors.toSet());
-
-                if (!invalidRoleIds.isEmpty()) {
-                    String invalidIds = invalidRoleIds.stream()
-                        .map(String::valueOf)
-                        .collect(Collectors.joining(", "));
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot update person's role for non-existing IDs: " + invalidIds);
-                }
+    public Optional<PersonDto> mergePatch(UUID uuid, JsonNode patch) {
+        return mergePatch(uuid, patch, null);
+    }
 
-                Person updatedPerson = existingPerson.toBuilder()
-                    .roles(validRoles)
-                    .build();
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public Optional<PersonDto> mergePatch(UUID uuid, JsonNode patch, String ifMatch) {
+        if (patch == null || !patch.isObject()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A merge patch for a person must be a JSON object.");
+        }
 
-                return toDto(personRepository.save(updatedPerson));
+        READ_ONLY_FIELDS.stream()
+            .filter(patch::has)
+            .findFirst()
+            .ifPresent(field -> {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot patch read-only field " + field + ".");
             });
+
+        ObjectNode attributes = ((ObjectNode) patch).deepCopy();
+        JsonNode rolesPatch = attributes.remove("roles");
+
+        return updatePerson(uuid, ifMatch, attributes.has("name"), existingPerson -> {
+            ObjectNode current = objectMapper.valueToTree(toDto(existingPerson));
+            current.remove("roles");
+
+            PersonDto patchedPerson;
+            try {
+                patchedPerson = objectMapper.treeToValue(applyMergePatch(current, attributes), PersonDto.class);
+            } catch (JsonProcessingException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid merge patch: " + e.getOriginalMessage());
+            }
+
+            String violations = validate(patchedPerson);
+            if (violations != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations);
+            }
+
+            // Only attributes named in the patch are set, so dirty checking leaves every other column alone.
+            attributes.fieldNames().forEachRemaining(field -> {
+                switch (field) {
+                    case "name" -> existingPerson.setName(patchedPerson.getName());
+                    case "address" -> existingPerson.setAddress(patchedPerson.getAddress());
+                    case "birthDate" -> existingPerson.setBirthDate(patchedPerson.getBirthDate());
+                    case "gwa" -> existingPerson.setGwa(patchedPerson.getGwa());
+                    case "hireDate" -> existingPerson.setHireDate(patchedPerson.getHireDate());
+                    case "employed" -> existingPerson.setEmployed(patchedPerson.isEmployed());
+                    case "contactInformation" -> existingPerson.setContactInformation(patchedPerson.getContactInformation());
+                    default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot patch unknown field " + field + ".");
+                }
+            });
+
+            if (rolesPatch != null) {
+                replaceRoles(existingPerson, resolveRoles(rolesPatch));
+            }
+        });
     }
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public Optional<PersonDto> update(UUID uuid, PersonDto updatedPerson) {
-        return personRepository.findByUuid(uuid)
-            .map(existingPerson -> {
-                existingPerson.setName(updatedPerson.getName());
-                existingPerson.setAddress(updatedPerson.getAddress());
-                existingPerson.setBirthDate(updatedPerson.getBirthDate());
-                existingPerson.setGwa(updatedPerson.getGwa());
-                existingPerson.setHireDate(updatedPerson.getHireDate());
-                existingPerson.setEmployed(updatedPerson.isEmployed());
-                existingPerson.setContactInformation(updatedPerson.getContactInformation());
-
-                Set<Role> updatedRoles = updatedPerson.getRoles().stream()
-                    .map(role -> roleRepository.findByUuid(role.getUuid())
-                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Role ID " + role.getUuid() + " does not exist.")))
-                    .collect(Collectors.toSet());
-
-                existingPerson.setRoles(updatedRoles);
-
-                return toDto(personRepository.save(existingPerson));
-            });
+        return update(uuid, updatedPerson, null);
     }
 
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public Optional<PersonDto> update(UUID uuid, PersonDto updatedPerson, String ifMatch) {
+        return updatePerson(uuid, ifMatch, true, existingPerson -> {
+            existingPerson.setName(updatedPerson.getName());
+            existingPerson.setAddress(updatedPerson.getAddress());
+            existingPerson.setBirthDate(updatedPerson.getBirthDate());
+            existingPerson.setGwa(updatedPerson.getGwa());
+            existingPerson.setHireDate(updatedPerson.getHireDate());
+            existingPerson.setEmployed(updatedPerson.isEmployed());
+            existingPerson.setContactInformation(updatedPerson.getContactInformation());
+
+            Set<Role> updatedRoles = updatedPerson.getRoles().stream()
+                .map(role -> roleCache.findByUuid(role.getUuid())
+                        .map(cachedRole -> roleRepository.getReferenceById(cachedRole.getId()))
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Role ID " + role.getUuid() + " does not exist.")))
+                .collect(Collectors.toSet());
+
+            existingPerson.setRoles(updatedRoles);
+        });
+    }
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public boolean delete(UUID uuid) {
-        if (personRepository.existsByUuid(uuid)) {
-            personRepository.deleteByUuid(uuid);
+        if (personRepository.deleteByUuid(uuid) > 0) {
+            personCache.evict(uuid);
+            personSearchIndex.remove(uuid);
+            personTypeahead.remove(uuid);
             return true;
         }
         return false;
     }
 
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public int deleteAll(List<UUID> uuids) {
+        if (uuids.size() > MAX_BATCH_REQUEST_SIZE) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Cannot delete more than " + MAX_BATCH_REQUEST_SIZE + " persons in one batch.");
+        }
+
+        List<UUID> distinctUuids = new ArrayList<>(new LinkedHashSet<>(uuids));
+        Integer deleted = new TransactionTemplate(transactionManager).execute(status -> {
+            int count = 0;
+            for (int from = 0; from < distinctUuids.size(); from += DELETE_CHUNK_SIZE) {
+                List<UUID> chunk = distinctUuids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctUuids.size()));
+                count += personRepository.deleteAllByUuidIn(chunk);
+            }
+            return count;
+        });
+
+        distinctUuids.forEach(uuid -> {
+            personCache.evict(uuid);
+            personSearchIndex.remove(uuid);
+            personTypeahead.remove(uuid);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'VIEWER')")
+    public void exportAll(ExportFormat format, OutputStream outputStream) throws IOException {
+        PersonExportWriter writer = PersonExportWriter.create(format, objectMapper, outputStream);
+
+        try (Stream<Person> persons = personRepository.streamAllWithRoles()) {
+            Iterator<Person> iterator = persons.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Person person = iterator.next();
+                writer.write(toDto(person));
+                // Keeps the persistence context, and with it memory, constant regardless of table size.
+                entityManager.detach(person);
+
+                if (++written % EXPORT_FLUSH_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private List<PersonDto> findAllDtos(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, PersonDto> personsById = personRepository.findDtosByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(PersonDto::getId, person -> person));
+        addRoles(personsById);
+
+        return ids.stream()
+            .map(personsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Fills in the roles of projected persons with one query. Persons holding the same role share one instance of it,
+     * as they would share the managed entity.
+     */
+    private void addRoles(Map<Long, PersonDto> personsById) {
+        if (personsById.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Role> roles = new HashMap<>();
+        for (PersonRoleRow row : personRepository.findRoleRowsByPersonIdIn(personsById.keySet())) {
+            Role role = roles.computeIfAbsent(row.roleId(), id -> new Role(id, row.roleUuid(), row.roleName(), row.roleVersion()));
+            personsById.get(row.personId()).getRoles().add(role);
+        }
+    }
+
+    /**
+     * Loads the person, applies {@code change} and commits, all in one transaction. A concurrent commit makes the
+     * version check fail; the change is then re-applied to a fresh read, up to {@link #MAX_UPDATE_ATTEMPTS} times
+     * with jittered backoff, unless the caller pinned the version it read with {@code ifMatch}.
+     */
+    private Optional<PersonDto> updatePerson(UUID uuid, String ifMatch, boolean reindex, Consumer<Person> change) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Optional<Person> updated = transaction.execute(status -> personRepository.findByUuid(uuid)
+                    .map(existingPerson -> {
+                        if (!matchesVersionTag(ifMatch, versionTag(existingPerson))) {
+                            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Person with UUID " + uuid + " has changed since it was read.");
+                        }
+
+                        change.accept(existingPerson);
+                        existingPerson.setUpdatedAt(ZonedDateTime.now());
+                        return personRepository.save(existingPerson);
+                    }));
+                if (updated == null || updated.isEmpty()) {
+                    return Optional.empty();
+                }
+
+                PersonDto updatedPerson = toDto(updated.get());
+                // Replaces the entry with the new version, so a read that loaded the old one cannot put it back.
+                personCache.put(uuid, updatedPerson);
+                if (reindex) {
+                    personSearchIndex.index(updated.get());
+                    personTypeahead.index(updated.get());
+                }
+                return Optional.of(updatedPerson);
+            } catch (OptimisticLockingFailureException e) {
+                personCache.evict(uuid);
+                if (ifMatch != null) {
+                    throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Person with UUID " + uuid + " has changed since it was read.");
+                }
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Cannot update person with UUID " + uuid + " while it is being changed concurrently.");
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Full jitter: writers that collided once pick unrelated delays instead of colliding again in lockstep.
+    private static void backOff(int attempt) {
+        long ceiling = RETRY_BACKOFF.toMillis() << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while retrying an update.");
+        }
+    }
+
+    // If-Match uses strong comparison, so weak tags never match.
+    private static boolean matchesVersionTag(String ifMatch, String versionTag) {
+        if (ifMatch == null) {
+            return true;
+        }
+
+        return Arrays.stream(ifMatch.split(","))
+            .map(String::trim)
+            .anyMatch(tag -> tag.equals("*") || tag.equals("\"" + versionTag + "\""));
+    }
+
+    private Set<Role> resolveRoles(JsonNode roles) {
+        if (roles.isNull()) {
+            return Set.of();
+        }
+        if (!roles.isArray()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Roles in a merge patch must be an array.");
+        }
+
+        Set<Role> resolvedRoles = new HashSet<>();
+        for (JsonNode role : roles) {
+            UUID roleUuid;
+            try {
+                roleUuid = UUID.fromString(role.path("uuid").asText());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Role " + role + " has no valid UUID.");
+            }
+
+            resolvedRoles.add(roleCache.findByUuid(roleUuid)
+                .map(cachedRole -> roleRepository.getReferenceById(cachedRole.getId()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Role ID " + roleUuid + " does not exist.")));
+        }
+        return resolvedRoles;
+    }
+
+    // Editing the managed collection in place turns a role change into a few join table rows, where assigning a
+    // new set makes Hibernate delete and reinsert all of them.
+    private void replaceRoles(Person person, Set<Role> roles) {
+        Set<Long> roleIds = roles.stream()
+            .map(Role::getId)
+            .collect(Collectors.toSet());
+        person.getRoles().removeIf(role -> !roleIds.contains(role.getId()));
+
+        Set<Long> currentRoleIds = person.getRoles().stream()
+            .map(Role::getId)
+            .collect(Collectors.toSet());
+        roles.stream()
+            .filter(role -> !currentRoleIds.contains(role.getId()))
+            .forEach(person.getRoles()::add);
+    }
+
+    // RFC 7396: objects merge member by member, null removes a member and anything else replaces the target.
+    private static JsonNode applyMergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        ObjectNode result = target != null && target.isObject()
+            ? (ObjectNode) target
+            : JsonNodeFactory.instance.objectNode();
+        patch.fields().forEachRemaining(member -> {
+            if (member.getValue().isNull()) {
+                result.remove(member.getKey());
+            } else {
+                result.set(member.getKey(), applyMergePatch(result.get(member.getKey()), member.getValue()));
+            }
+        });
+        return result;
+    }
+
+    // Hashes each person's id and version, and those of its roles, in response order. Ids are included because
+    // a person deleted and reloaded under the same UUID starts again at version 0.
+    private String versionTag(List<Long> ids, List<PersonVersionView> versions) {
+        Map<Long, List<PersonVersionView>> versionsById = versions.stream()
+            .collect(Collectors.groupingBy(PersonVersionView::getId));
+
+        StringBuilder key = new StringBuilder();
+        for (Long id : ids) {
+            List<PersonVersionView> personVersions = versionsById.getOrDefault(id, List.of());
+            Map<Long, Long> roleVersions = new TreeMap<>();
+            personVersions.stream()
+                .filter(version -> version.getRoleId() != null)
+                .forEach(version -> roleVersions.put(version.getRoleId(), version.getRoleVersion()));
+            appendVersions(key, id, personVersions.isEmpty() ? null : personVersions.get(0).getVersion(), roleVersions);
+        }
+        return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String versionTag(Person person) {
+        return versionTag(person.getId(), person.getVersion(), person.getRoles());
+    }
+
+    private String versionTag(Long id, long version, Collection<Role> roles) {
+        Map<Long, Long> roleVersions = new TreeMap<>();
+        roles.forEach(role -> roleVersions.put(role.getId(), role.getVersion()));
+
+        StringBuilder key = new StringBuilder();
+        appendVersions(key, id, version, roleVersions);
+        return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendVersions(StringBuilder key, Long id, Long version, Map<Long, Long> roleVersions) {
+        key.append(id).append(':').append(version == null ? "" : version);
+        roleVersions.forEach((roleId, roleVersion) -> key.append(',').append(roleId).append(':').append(roleVersion));
+        key.append(';');
+    }
+
+    /**
+     * Fills a slice that ended with its segment of the keyset order from the next segment, asking for one row more
+     * than fits so the combined slice still knows whether anything follows.
+     */
+    private static Slice<Long> continueSlice(Slice<Long> slice, int size, IntFunction<Slice<Long>> next) {
+        if (slice.hasNext()) {
+            return slice;
+        }
+
+        int remaining = size - slice.getNumberOfElements();
+        Slice<Long> rest = next.apply(Math.max(remaining, 1));
+        List<Long> ids = new ArrayList<>(slice.getContent());
+        ids.addAll(rest.getContent().subList(0, Math.min(remaining, rest.getNumberOfElements())));
+        return new SliceImpl<>(ids, slice.getPageable(), rest.hasNext() || rest.getNumberOfElements() > remaining);
+    }
+
+    // A cursor without a last name part marks a person without a last name; an empty last name keeps its separator.
+    private String encodeCursor(Sort.Direction direction, PersonDto last) {
+        String lastName = last.getName() == null ? null : last.getName().getLastName();
+        String key = direction.name() + ":" + last.getId() + (lastName == null ? "" : ":" + lastName);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T extends Comparable<? super T>> void checkRange(String field, T from, T to) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The " + field + " range starts after it ends.");
+        }
+    }
+
+    private String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            Sort.Direction.fromString(key[0]);
+            Long.valueOf(key[1]);
+            return key;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor " + cursor + ".");
+        }
+    }
+
+    private String validate(PersonDto person) {
+        if (person == null) {
+            return "Person cannot be null.";
+        }
+
+        Set<ConstraintViolation<PersonDto>> violations = validator.validate(person);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private void saveChunk(List<PersonDto> persons, List<Integer> indexes, Consumer<PersonBatchResultDto> results) {
+        List<Person> chunk = persons.stream()
+            .map(this::fromDto)
+            .collect(Collectors.toList());
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> personRepository.saveAll(chunk));
+        } catch (RuntimeException e) {
+            if (indexes.size() == 1) {
+                results.accept(PersonBatchResultDto.failure(indexes.get(0), chunk.get(0).getUuid(), NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                return;
+            }
+
+            // One bad row rolls back the whole chunk, so replay it row by row to pin down which rows failed.
+            for (int i = 0; i < indexes.size(); i++) {
+                saveChunk(List.of(persons.get(i)), List.of(indexes.get(i)), results);
+            }
+            return;
+        }
+
+        for (int i = 0; i < indexes.size(); i++) {
+            personSearchIndex.index(chunk.get(i));
+            personTypeahead.index(chunk.get(i));
+            results.accept(PersonBatchResultDto.success(indexes.get(i), chunk.get(i).getUuid()));
+        }
+    }
+
+    private void saveImportChunk(List<PersonDto> persons, List<Integer> lines, Consumer<PersonBatchResultDto> results) {
+        saveChunk(persons, lines, results);
+        // A request-scoped persistence context would otherwise keep every imported person managed.
+        entityManager.clear();
+        persons.clear();
+        lines.clear();
+    }
+
+    private JsonParseException findParseException(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonParseException parseException) {
+                return parseException;
+            }
+        }
+        return null;
+    }
+
+    private void skipToNextRecord(JsonParser parser) throws IOException {
+        while (!parser.getParsingContext().inRoot()) {
+            if (parser.nextToken() == null) {
+                return;
+            }
+        }
+    }
+
     public PersonDto toDto(Person person) {
         if (person == null) {
             return null;
@@ -169,9 +939,10 @@ public class PersonServiceImpl implements PersonService {
             person.getHireDate(),
             person.isEmployed(),
             person.getContactInformation(),
-            person.getRoles(),
+            new HashSet<>(person.getRoles()),
             person.getCreatedAt(),
-            person.getUpdatedAt()
+            person.getUpdatedAt(),
+            person.getVersion()
         );
     }
 
@@ -205,4 +976,4 @@ public class PersonServiceImpl implements PersonService {
         }
         return person;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
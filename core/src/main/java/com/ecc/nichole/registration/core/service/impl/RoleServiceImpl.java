@@ -1,9 +1,13 @@
 package com.ecc.nichole.registration.core.service.impl;
 
+import com.ecc.nichole.registration.core.cache.PersonCache;
+import com.ecc.nichole.registration.core.cache.RoleCache;
 import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.CacheStatsDto;
 import com.ecc.nichole.registration.core.model.dto.RoleDto;
 import com.ecc.nichole.registration.core.repo.RoleRepository;
 import com.ecc.nichole.registration.core.service.RoleService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.NoArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,15 +15,21 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @NoArgsConstructor
 @Service
+@Observed(name = "registration.service")
 public class RoleServiceImpl implements RoleService {
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private RoleCache roleCache;
+
+    @Autowired
+    private PersonCache personCache;
+
     public RoleServiceImpl(RoleRepository roleRepository) {
         this.roleRepository = roleRepository;
     }
@@ -27,24 +37,29 @@ public class RoleServiceImpl implements RoleService {
     @Override
     public void create(RoleDto role) {
         roleRepository.save(fromDto(role));
+        roleCache.invalidateAll();
     }
 
     @Override
     public Optional<RoleDto> getByUuid(UUID uuid) {
-        return Optional.ofNullable(toDto(roleRepository.findByUuid(uuid).orElse(null)));
+        return roleCache.findByUuid(uuid);
     }
 
     @Override
     public void update(UUID uuid, RoleDto role) {
         if (roleRepository.existsByUuid(uuid)) {
             roleRepository.save(fromDto(role));
+            roleCache.invalidateAll();
+            // Cached persons embed role names.
+            personCache.clear();
         }
     }
 
     @Override
     public boolean delete(UUID uuid) {
-        if (roleRepository.existsByUuid(uuid)) {
-            roleRepository.deleteByUuid(uuid);
+        if (roleRepository.deleteByUuid(uuid) > 0) {
+            roleCache.invalidateAll();
+            personCache.clear();
             return true;
         }
         return false;
@@ -52,10 +67,12 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     public List<RoleDto> getAllByUuid() {
-        return roleRepository.findAll()
-            .stream()
-            .map(this::toDto)
-            .collect(Collectors.toList());
+        return roleCache.findAll();
+    }
+
+    @Override
+    public List<CacheStatsDto> getCacheStats() {
+        return roleCache.stats();
     }
 
     public RoleDto toDto(Role role) {
@@ -66,7 +83,8 @@ public class RoleServiceImpl implements RoleService {
         return new RoleDto(
             role.getId(),
             role.getUuid(),
-            role.getName()
+            role.getName(),
+            role.getVersion()
         );
     }
 
@@ -83,6 +101,7 @@ public class RoleServiceImpl implements RoleService {
         }
 
         role.setName(roleDto.getName());
+        role.setVersion(roleDto.getVersion());
         return role;
     }
 }
\ No newline at end of file
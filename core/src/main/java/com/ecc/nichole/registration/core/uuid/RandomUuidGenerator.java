@@ -0,0 +1,11 @@
+package com.ecc.nichole.registration.core.uuid;
+
+import java.util.UUID;
+
+public class RandomUuidGenerator implements UuidGenerator {
+
+    @Override
+    public UUID generate() {
+        return UUID.randomUUID();
+    }
+}
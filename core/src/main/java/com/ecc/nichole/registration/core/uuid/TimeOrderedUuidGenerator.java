@@ -0,0 +1,51 @@
+package com.ecc.nichole.registration.core.uuid;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp, then a 12-bit counter in {@code rand_a}
+ * that keeps UUIDs from one generator strictly increasing within the same millisecond, then 62 random bits.
+ * The timestamp and counter advance together in a single CAS, so concurrent callers never block.
+ * If the clock goes backwards or the counter overflows, the embedded timestamp runs slightly ahead
+ * instead of repeating a value.
+ */
+public class TimeOrderedUuidGenerator implements UuidGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private static final long VERSION_7 = 0x7000L;
+
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final LongSupplier clock;
+
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    public TimeOrderedUuidGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    TimeOrderedUuidGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID generate() {
+        long timestampAndCounter = lastTimestampAndCounter.updateAndGet(
+            last -> Math.max(last + 1, clock.getAsLong() << COUNTER_BITS));
+
+        long mostSigBits = (timestampAndCounter >>> COUNTER_BITS) << 16
+            | VERSION_7
+            | (timestampAndCounter & COUNTER_MASK);
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
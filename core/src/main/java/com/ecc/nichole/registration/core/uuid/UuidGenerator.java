@@ -0,0 +1,8 @@
+package com.ecc.nichole.registration.core.uuid;
+
+import java.util.UUID;
+
+public interface UuidGenerator {
+
+    UUID generate();
+}
@@ -0,0 +1,27 @@
+package com.ecc.nichole.registration.core.uuid;
+
+import java.util.UUID;
+
+/**
+ * Source of UUIDs for new entities. Defaults to time-ordered UUIDv7 so new rows land at the right edge of
+ * the uuid index. The application installs the generator named by {@code registration.uuid.generator} at
+ * startup through {@link #setGenerator(UuidGenerator)}.
+ */
+public final class UuidGenerators {
+
+    private static volatile UuidGenerator generator = new TimeOrderedUuidGenerator();
+
+    private UuidGenerators() {}
+
+    public static UUID next() {
+        return generator.generate();
+    }
+
+    public static UuidGenerator getGenerator() {
+        return generator;
+    }
+
+    public static void setGenerator(UuidGenerator uuidGenerator) {
+        generator = uuidGenerator;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecc.nichole.registration.core.controller;
+
+import com.ecc.nichole.registration.core.cache.PersonCache;
+import com.ecc.nichole.registration.core.cache.RoleCache;
+import com.ecc.nichole.registration.core.repo.PersonRepository;
+import com.ecc.nichole.registration.core.repo.RoleRepository;
+import com.ecc.nichole.registration.core.search.PersonSearchIndex;
+import com.ecc.nichole.registration.core.search.PersonTypeahead;
+import com.ecc.nichole.registration.core.service.impl.PersonServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PersonController.class)
+class PersonControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PersonRepository personRepository;
+
+    @MockBean
+    private RoleRepository roleRepository;
+
+    @MockBean
+    private RoleCache roleCache;
+
+    @MockBean
+    private PersonCache personCache;
+
+    @MockBean
+    private PersonSearchIndex personSearchIndex;
+
+    @MockBean
+    private PersonTypeahead personTypeahead;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldForbidExportToUsers() throws Exception {
+        when(personRepository.streamAllWithRoles()).thenReturn(Stream.empty());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/persons/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void shouldExportToViewersOnTheAsyncThread() throws Exception {
+        when(personRepository.streamAllWithRoles()).thenReturn(Stream.empty());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/persons/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk());
+    }
+
+    @SpringBootConfiguration
+    @EnableMethodSecurity
+    @Import({PersonController.class, PersonServiceImpl.class})
+    static class TestConfig {
+    }
+}
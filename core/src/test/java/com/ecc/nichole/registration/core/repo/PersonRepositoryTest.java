@@ -0,0 +1,380 @@
+package com.ecc.nichole.registration.core.repo;
+
+import com.ecc.nichole.registration.core.cache.LocalPersonCache;
+import com.ecc.nichole.registration.core.export.ExportFormat;
+import com.ecc.nichole.registration.core.model.ContactInformation;
+import com.ecc.nichole.registration.core.model.Name;
+import com.ecc.nichole.registration.core.model.Person;
+import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.ecc.nichole.registration.core.model.dto.PersonFilterDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSliceDto;
+import com.ecc.nichole.registration.core.search.PersonSearchIndex;
+import com.ecc.nichole.registration.core.service.impl.PersonServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PersonRepositoryTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PersonServiceImpl personServiceImpl;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        personServiceImpl = new PersonServiceImpl();
+        ReflectionTestUtils.setField(personServiceImpl, "personRepository", personRepository);
+        ReflectionTestUtils.setField(personServiceImpl, "entityManager", entityManager.getEntityManager());
+        ReflectionTestUtils.setField(personServiceImpl, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(personServiceImpl, "personCache", new LocalPersonCache(100, Duration.ofMinutes(5)));
+        ReflectionTestUtils.setField(personServiceImpl, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(personServiceImpl, "transactionManager", transactionManager);
+
+        List<Role> roles = List.of(role("Admin"), role("Developer"), role("QA"));
+        roles.forEach(entityManager::persist);
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Person person = new Person.Builder()
+                .name(new Name.Builder().firstName("First" + i).lastName("Last" + i).build())
+                .roles(new HashSet<>(Set.of(roles.get(i % roles.size()), roles.get((i + 1) % roles.size()))))
+                .build();
+            entityManager.persist(person);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadPageWithRolesInThreeStatementsWithoutEntities() {
+        List<PersonDto> persons = personServiceImpl.getAll("name.lastName", "asc", PageRequest.of(0, PAGE_SIZE));
+
+        int roleCount = persons.stream()
+            .mapToInt(person -> (int) person.getRoles().stream().map(Role::getName).count())
+            .sum();
+
+        assertEquals(PAGE_SIZE, persons.size(), "A full page of persons should be returned.");
+        assertEquals(PAGE_SIZE * 2, roleCount, "Every person's roles should be loaded.");
+        assertEquals("First0", persons.get(0).getName().getFirstName(), "Embedded values should be projected.");
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+            "Expected at most 3 statements for a page of persons but got " + statistics.getPrepareStatementCount() + ".");
+        assertEquals(0, statistics.getEntityLoadCount(), "The read path should not hydrate entities.");
+    }
+
+    @Test
+    void shouldGetPersonWithRolesWithoutEntities() {
+        UUID uuid = personRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getUuid();
+        entityManager.clear();
+        statistics.clear();
+
+        PersonDto person = personServiceImpl.getByUuid(uuid).orElseThrow();
+
+        assertEquals(uuid, person.getUuid(), "The requested person should be returned.");
+        assertEquals(2, person.getRoles().size(), "The person's roles should be loaded.");
+        assertEquals(0, statistics.getEntityLoadCount(), "The read path should not hydrate entities.");
+    }
+
+    @Test
+    void shouldPageThroughPersonsWithoutLastNameByCursor() {
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new Person.Builder().name(new Name.Builder().firstName("Nameless" + i).build()).build());
+        }
+        entityManager.persist(new Person.Builder().build());
+        entityManager.flush();
+        entityManager.clear();
+
+        for (String order : List.of("asc", "desc")) {
+            List<PersonDto> persons = new ArrayList<>();
+            String cursor = null;
+            do {
+                PersonSliceDto slice = personServiceImpl.getAllByCursor(cursor, order, 7);
+                persons.addAll(slice.getContent());
+                cursor = slice.getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(PAGE_SIZE + 4, persons.size(), "Every person should be listed in " + order + " order.");
+            assertEquals(PAGE_SIZE + 4, persons.stream().map(PersonDto::getId).distinct().count(),
+                "No person should be listed twice in " + order + " order.");
+            List<PersonDto> nameless = order.equals("asc") ? persons.subList(PAGE_SIZE, PAGE_SIZE + 4) : persons.subList(0, 4);
+            assertTrue(nameless.stream().allMatch(person -> person.getName() == null || person.getName().getLastName() == null),
+                "Persons without a last name should sort after all others in " + order + " order.");
+        }
+    }
+
+    @Test
+    void shouldKeepPageOrder() {
+        List<PersonDto> persons = personServiceImpl.getAll("id", "desc", PageRequest.of(0, 10));
+
+        for (int i = 1; i < persons.size(); i++) {
+            assertTrue(persons.get(i - 1).getId() > persons.get(i).getId(), "Persons should stay in the requested order.");
+        }
+    }
+
+    @Test
+    void shouldFilterByRolesInOneStatementWithoutDuplicates() {
+        List<Role> roles = entityManager.getEntityManager()
+            .createQuery("select r from Role r where r.name in ('Developer', 'QA')", Role.class)
+            .getResultList();
+        List<Long> roleIds = roles.stream().map(Role::getId).toList();
+
+        statistics.clear();
+        List<Long> ids = personRepository.findIdSlice(PersonSpecifications.matching(new PersonFilterDto(), roleIds), PageRequest.of(0, PAGE_SIZE, Sort.by("id"))).getContent();
+
+        assertEquals(PAGE_SIZE, ids.size(), "Every person holds one of the roles.");
+        assertEquals(PAGE_SIZE, new HashSet<>(ids).size(), "Persons holding both roles should be listed once.");
+        assertEquals(1, statistics.getPrepareStatementCount(), "The filter should be a single statement.");
+    }
+
+    @Test
+    void shouldCombineFilters() {
+        Role developer = entityManager.getEntityManager()
+            .createQuery("select r from Role r where r.name = 'Developer'", Role.class)
+            .getSingleResult();
+        PersonFilterDto filter = new PersonFilterDto();
+        filter.setEmployed(false);
+        List<Long> roleIds = List.of(developer.getId());
+
+        assertEquals(67, personRepository.findIdSlice(PersonSpecifications.matching(filter, roleIds), PageRequest.of(0, PAGE_SIZE)).getContent().size(),
+            "Only unemployed developers should match.");
+
+        filter.setEmployed(true);
+        assertTrue(personRepository.findIdSlice(PersonSpecifications.matching(filter, roleIds), PageRequest.of(0, PAGE_SIZE)).getContent().isEmpty(),
+            "No developer is employed.");
+    }
+
+    @Test
+    void shouldPatchContactInformationWithOneSelectAndOneUpdate() {
+        Person person = personRepository.findAll().get(0);
+        entityManager.clear();
+
+        statistics.clear();
+        personServiceImpl.patchContactInformation(person.getUuid(), new ContactInformation.Builder().email("new@example.com").build());
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount(), "Only the person lookup and its update should run.");
+        assertEquals(1, statistics.getEntityUpdateCount(), "The person should be updated in place.");
+        entityManager.clear();
+        Person patched = personRepository.findByUuid(person.getUuid()).orElseThrow();
+        assertEquals("new@example.com", patched.getContactInformation().getEmail(), "The new email should be stored.");
+        assertEquals(2, patched.getRoles().size(), "The roles should be left alone.");
+    }
+
+    @Test
+    void shouldMergePatchOnlyTheNamedFields() throws Exception {
+        Person person = personRepository.findAll().get(0);
+        entityManager.clear();
+
+        statistics.clear();
+        personServiceImpl.mergePatch(person.getUuid(), new ObjectMapper().readTree("{\"gwa\": 1.5, \"employed\": true}"));
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount(), "The join table should not be rewritten.");
+        entityManager.clear();
+        Person patched = personRepository.findByUuid(person.getUuid()).orElseThrow();
+        assertEquals(1.5, patched.getGwa(), "The patched gwa should be stored.");
+        assertTrue(patched.isEmployed(), "The patched employment should be stored.");
+        assertEquals(person.getName().getLastName(), patched.getName().getLastName(), "Fields missing from the patch should be kept.");
+    }
+
+    @Test
+    void shouldTagPersonVersionsWithoutLoadingPersons() {
+        Person person = personRepository.findAll().get(0);
+        entityManager.clear();
+
+        statistics.clear();
+        String versionTag = personServiceImpl.getVersionTag(person.getUuid()).orElseThrow();
+
+        assertEquals(0, statistics.getEntityLoadCount(), "Only the version columns should be read.");
+        assertEquals(1, statistics.getPrepareStatementCount(), "The tag should come from a single query.");
+        assertEquals(versionTag, personServiceImpl.getVersionTag(person.getUuid()).orElseThrow(), "An unchanged person should keep its tag.");
+
+        personServiceImpl.patchContactInformation(person.getUuid(), new ContactInformation.Builder().email("new@example.com").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNotEquals(versionTag, personServiceImpl.getVersionTag(person.getUuid()).orElseThrow(), "A patch should change the tag.");
+        assertTrue(personServiceImpl.getVersionTag(UUID.randomUUID()).isEmpty(), "An unknown person should have no tag.");
+    }
+
+    @Test
+    void shouldReloadCachedPersonOlderThanItsVersionTag() {
+        UUID uuid = entityManager.getEntityManager()
+            .createQuery("select p.uuid from Person p join p.roles r where r.name = 'QA'", UUID.class)
+            .setMaxResults(1)
+            .getSingleResult();
+        personServiceImpl.getByUuid(uuid);
+
+        // Bypasses the service and its cache, as another instance would.
+        entityManager.getEntityManager()
+            .createQuery("update Role r set r.name = 'Quality Assurance', r.version = r.version + 1 where r.name = 'QA'")
+            .executeUpdate();
+        entityManager.clear();
+
+        String versionTag = personServiceImpl.getVersionTag(uuid).orElseThrow();
+        PersonDto person = personServiceImpl.getByUuid(uuid, versionTag).orElseThrow();
+
+        assertTrue(person.getRoles().stream().anyMatch(role -> role.getName().equals("Quality Assurance")),
+            "A cached person older than the tag should be reloaded.");
+        assertTrue(personServiceImpl.getByUuid(uuid).orElseThrow().getRoles().stream().anyMatch(role -> role.getName().equals("Quality Assurance")),
+            "The reloaded person should replace the cached one.");
+    }
+
+    @Test
+    void shouldQueryPageIdsOnceForTagAndBody() {
+        Optional<List<PersonDto>> unchanged = personServiceImpl.getAll(new PersonFilterDto(), "id", "asc", PageRequest.of(0, 10), tag -> true);
+
+        assertTrue(unchanged.isEmpty(), "An unchanged page should not be loaded.");
+        assertEquals(2, statistics.getPrepareStatementCount(), "An unchanged page should cost the id and version queries only.");
+
+        statistics.clear();
+        List<PersonDto> persons = personServiceImpl.getAll(new PersonFilterDto(), "id", "asc", PageRequest.of(0, 10), tag -> false)
+            .orElseThrow();
+
+        assertEquals(10, persons.size(), "A changed page should be loaded.");
+        assertEquals(4, statistics.getPrepareStatementCount(), "A changed page should reuse the ids of its tag.");
+    }
+
+    @Test
+    void shouldChangePageVersionTagWhenARoleIsRenamed() {
+        String versionTag = pageVersionTag();
+
+        Role role = entityManager.getEntityManager()
+            .createQuery("select r from Role r where r.name = 'QA'", Role.class)
+            .getSingleResult();
+        role.setName("Quality Assurance");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNotEquals(versionTag, pageVersionTag(),
+            "Persons embed role names, so renaming a role should change the tag.");
+    }
+
+    @Test
+    void shouldDeleteByUuidWithoutLoadingThePerson() {
+        Person person = personRepository.findAll().get(0);
+
+        statistics.clear();
+        int deleted = personRepository.deleteByUuid(person.getUuid());
+
+        assertEquals(1, deleted, "Exactly one person should be deleted.");
+        assertEquals(0, statistics.getEntityLoadCount(), "The person should not be loaded before it is deleted.");
+        assertEquals(2, statistics.getPrepareStatementCount(), "Only the join-table cleanup and the person delete should run.");
+        assertTrue(personRepository.findByUuid(person.getUuid()).isEmpty(), "The person should no longer exist.");
+    }
+
+    @Test
+    void shouldReportNothingDeletedForUnknownUuid() {
+        assertEquals(0, personRepository.deleteByUuid(UUID.randomUUID()), "No rows should be deleted for an unknown UUID.");
+    }
+
+    @Test
+    void shouldStreamNdjsonExportInOneStatementWithoutRetainingPersons() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        personServiceImpl.exportAll(ExportFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        ObjectMapper objectMapper = new ObjectMapper();
+        long previousId = Long.MIN_VALUE;
+        for (String line : lines) {
+            JsonNode person = objectMapper.readTree(line);
+            assertEquals(2, person.get("roles").size(), "Every exported person should carry its roles.");
+            assertTrue(person.get("id").asLong() > previousId, "Persons should be exported in id order.");
+            previousId = person.get("id").asLong();
+        }
+
+        assertEquals(PAGE_SIZE, lines.length, "Every person should be exported on its own line.");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Persons and roles should be streamed by a single query.");
+        assertEquals(3, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount(),
+            "Only the shared roles should stay managed after the export.");
+    }
+
+    @Test
+    void shouldStreamNamesForSearchIndexWithoutLoadingPersons() {
+        PersonSearchIndex personSearchIndex = new PersonSearchIndex();
+
+        try (Stream<PersonNameView> names = personRepository.streamAllNames()) {
+            names.forEach(name -> personSearchIndex.index(name.getId(), name.getUuid(),
+                name.getLastName(), name.getFirstName(), name.getMiddleName()));
+        }
+
+        assertEquals(PAGE_SIZE, personSearchIndex.size(), "Every person should be indexed.");
+        assertEquals(0, statistics.getEntityLoadCount(), "Only the name columns should be read.");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Names should be streamed by a single query.");
+        Person match = personRepository.findAllById(personSearchIndex.search("First42 Last42", 1)).get(0);
+        assertEquals("Last42", match.getName().getLastName(), "The indexed names should be searchable.");
+    }
+
+    private String pageVersionTag() {
+        AtomicReference<String> versionTag = new AtomicReference<>();
+        personServiceImpl.getAll(new PersonFilterDto(), "id", "asc", PageRequest.of(0, 10), tag -> {
+            versionTag.set(tag);
+            return true;
+        });
+        return versionTag.get();
+    }
+
+    private Role role(String name) {
+        Role role = new Role();
+        role.setName(name);
+        return role;
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Person.class)
+    @EnableJpaRepositories(basePackageClasses = PersonRepository.class)
+    static class TestConfig {
+    }
+}
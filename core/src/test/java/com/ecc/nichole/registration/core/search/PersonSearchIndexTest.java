@@ -0,0 +1,89 @@
+package com.ecc.nichole.registration.core.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonSearchIndexTest {
+
+    private PersonSearchIndex personSearchIndex;
+
+    private final UUID avanez = UUID.randomUUID();
+    private final UUID avena = UUID.randomUUID();
+    private final UUID cruz = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        personSearchIndex = new PersonSearchIndex();
+        personSearchIndex.index(1L, avanez, "Avañez", "Nichole", null);
+        personSearchIndex.index(2L, avena, "Avena", "Nicolas", "Reyes");
+        personSearchIndex.index(3L, cruz, "Dela Cruz", "Juan", "Santos");
+    }
+
+    @Test
+    void shouldRankClosestNameFirst() {
+        List<Long> ids = personSearchIndex.search("nichole avanez", 10);
+
+        assertEquals(List.of(1L, 2L), ids, "The exact name should outrank the similar one.");
+    }
+
+    @Test
+    void shouldMatchMisspelledAndPartialNames() {
+        assertEquals(1L, personSearchIndex.search("Avanes Nicole", 10).get(0), "Typos should still find the person.");
+        assertEquals(List.of(3L), personSearchIndex.search("cruz", 10), "A single word of a compound last name should match.");
+        assertEquals(List.of(3L), personSearchIndex.search("santso", 10), "Middle names should be searchable.");
+    }
+
+    @Test
+    void shouldIgnoreUnrelatedNames() {
+        assertTrue(personSearchIndex.search("Garcia", 10).isEmpty(), "Names sharing too few trigrams should not match.");
+        assertTrue(personSearchIndex.search("  -- ", 10).isEmpty(), "A query without letters should not match anything.");
+    }
+
+    @Test
+    void shouldLimitResults() {
+        assertEquals(List.of(2L), personSearchIndex.search("avena", 1), "Only the best match should be returned.");
+    }
+
+    @Test
+    void shouldReplaceReindexedName() {
+        personSearchIndex.index(3L, cruz, "Garcia", "Juan", null);
+
+        assertTrue(personSearchIndex.search("dela cruz", 10).isEmpty(), "The old name should no longer match.");
+        assertEquals(List.of(3L), personSearchIndex.search("garcia", 10), "The new name should match.");
+        assertEquals(3, personSearchIndex.size(), "Re-indexing should not add a person.");
+    }
+
+    @Test
+    void shouldRemovePerson() {
+        assertTrue(personSearchIndex.remove(avanez), "An indexed person should be removed.");
+        assertFalse(personSearchIndex.remove(avanez), "A person should only be removed once.");
+
+        assertEquals(List.of(2L), personSearchIndex.search("nichole avanez", 10), "A removed person should no longer match.");
+        assertEquals(2, personSearchIndex.size(), "The removed person should not be counted.");
+    }
+
+    @Test
+    void shouldKeepResultsAcrossCompaction() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid);
+            personSearchIndex.index(100L + i, uuid, "Garcia", "Maria", null);
+        }
+        for (UUID uuid : uuids.subList(0, 4_000)) {
+            personSearchIndex.remove(uuid);
+        }
+        personSearchIndex.index(9_999L, uuids.get(4_999), "Garcia", "Mario", null);
+
+        assertEquals(1_003, personSearchIndex.size(), "Only the remaining persons should be counted.");
+        assertEquals(List.of(3L), personSearchIndex.search("dela cruz", 10), "Persons indexed before compaction should still match.");
+        assertEquals(9_999L, personSearchIndex.search("garcia mario", 1).get(0), "Re-indexed persons should resolve to their new entry.");
+        assertEquals(1_000, personSearchIndex.search("garcia", 2_000).size(), "Every remaining person with the name should match.");
+    }
+}
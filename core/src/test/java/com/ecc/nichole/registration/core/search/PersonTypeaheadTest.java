@@ -0,0 +1,94 @@
+package com.ecc.nichole.registration.core.search;
+
+import com.ecc.nichole.registration.core.model.dto.PersonSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonTypeaheadTest {
+
+    private PersonTypeahead personTypeahead;
+
+    private final UUID avanez = UUID.randomUUID();
+    private final UUID avena = UUID.randomUUID();
+    private final UUID cruz = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        personTypeahead = new PersonTypeahead();
+        personTypeahead.index(1L, avanez, "Avañez", "Nichole", null);
+        personTypeahead.index(2L, avena, "Avena", "Anne", "Reyes");
+        personTypeahead.index(3L, cruz, "Dela Cruz", "Juan", "Santos");
+    }
+
+    @Test
+    void shouldCompleteLastAndFirstNames() {
+        assertEquals(List.of(1L, 2L), ids(personTypeahead.complete("av", 10)), "Both last names starting with the prefix should complete, alphabetically.");
+        assertEquals(List.of(1L), ids(personTypeahead.complete("Nich", 10)), "First names should complete as well.");
+        assertEquals(List.of(3L), ids(personTypeahead.complete("juan dela c", 10)), "The prefix may span the first and last name.");
+        assertEquals(List.of(3L), ids(personTypeahead.complete("dela-cruz, j", 10)), "Punctuation should be folded like spaces.");
+    }
+
+    @Test
+    void shouldFoldDiacriticsAndKeepDisplayNames() {
+        PersonSummaryDto completion = personTypeahead.complete("avan", 10).get(0);
+
+        assertEquals(avanez, completion.getUuid(), "The prefix should match regardless of diacritics.");
+        assertEquals("Avañez", completion.getName().getLastName(), "The summary should carry the name as stored.");
+        assertEquals("Nichole", completion.getName().getFirstName(), "The summary should carry the first name.");
+        assertNull(completion.getName().getMiddleName(), "A missing middle name should stay missing.");
+    }
+
+    @Test
+    void shouldListPersonOnceAndHonorLimit() {
+        personTypeahead.index(4L, UUID.randomUUID(), "Anne", "Annabelle", null);
+
+        assertEquals(List.of(4L, 2L), ids(personTypeahead.complete("ann", 10)), "A person matching by both names should be listed once.");
+        assertEquals(1, personTypeahead.complete("a", 1).size(), "No more than the limit should be returned.");
+        assertTrue(personTypeahead.complete("garcia", 10).isEmpty(), "Unknown prefixes should complete to nothing.");
+    }
+
+    @Test
+    void shouldReplaceReindexedAndDropRemovedPersons() {
+        personTypeahead.index(3L, cruz, "Garcia", "Juan", null);
+        assertTrue(personTypeahead.remove(avanez), "An indexed person should be removed.");
+
+        assertTrue(personTypeahead.complete("dela", 10).isEmpty(), "The old name should no longer complete.");
+        assertEquals(List.of(3L), ids(personTypeahead.complete("garc", 10)), "The new name should complete.");
+        assertEquals(List.of(2L), ids(personTypeahead.complete("av", 10)), "A removed person should no longer complete.");
+        assertEquals(2, personTypeahead.size(), "Only the remaining persons should be counted.");
+    }
+
+    @Test
+    void shouldKeepOrderAcrossMergesAndCompaction() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid);
+            personTypeahead.index(100L + i, uuid, String.format("Garcia%05d", (i * 7_919) % 10_000), "Maria", null);
+        }
+        for (UUID uuid : uuids.subList(0, 8_000)) {
+            personTypeahead.remove(uuid);
+        }
+        long memoryBytes = personTypeahead.memoryBytes();
+
+        List<PersonSummaryDto> completions = personTypeahead.complete("garcia", 50);
+        assertEquals(50, completions.size(), "The limit should be filled from the remaining persons.");
+        for (int i = 1; i < completions.size(); i++) {
+            assertTrue(completions.get(i - 1).getName().getLastName().compareTo(completions.get(i).getName().getLastName()) < 0,
+                "Completions should stay in alphabetical order.");
+        }
+        assertEquals(2_003, personTypeahead.size(), "Only the remaining persons should be counted.");
+        assertEquals(List.of(3L), ids(personTypeahead.complete("juan", 10)), "Persons indexed before compaction should still complete.");
+        assertTrue(memoryBytes > 0, "The memory footprint should be reported.");
+    }
+
+    private List<Long> ids(List<PersonSummaryDto> completions) {
+        return completions.stream().map(PersonSummaryDto::getId).toList();
+    }
+}
@@ -1,15 +1,31 @@
 package com.ecc.nichole.registration.core.service;
 
+import com.ecc.nichole.registration.core.cache.LocalPersonCache;
+import com.ecc.nichole.registration.core.cache.PersonCache;
+import com.ecc.nichole.registration.core.cache.RoleCache;
+import com.ecc.nichole.registration.core.export.ExportFormat;
 import com.ecc.nichole.registration.core.model.ContactInformation;
 import com.ecc.nichole.registration.core.model.Name;
 import com.ecc.nichole.registration.core.model.Person;
 import com.ecc.nichole.registration.core.model.Role;
+import com.ecc.nichole.registration.core.model.dto.IndexStatsDto;
+import com.ecc.nichole.registration.core.model.dto.PersonBatchResultDto;
 import com.ecc.nichole.registration.core.model.dto.PersonDto;
+import com.ecc.nichole.registration.core.model.dto.PersonFilterDto;
+import com.ecc.nichole.registration.core.model.dto.PersonImportResultDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSliceDto;
+import com.ecc.nichole.registration.core.model.dto.PersonSummaryDto;
 import com.ecc.nichole.registration.core.model.dto.RoleDto;
 import com.ecc.nichole.registration.core.repo.PersonRepository;
+import com.ecc.nichole.registration.core.repo.ReplicaReads;
 import com.ecc.nichole.registration.core.repo.RoleRepository;
+import com.ecc.nichole.registration.core.search.PersonSearchIndex;
+import com.ecc.nichole.registration.core.search.PersonTypeahead;
 import com.ecc.nichole.registration.core.service.impl.PersonServiceImpl;
 import com.ecc.nichole.registration.core.service.impl.RoleServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -18,11 +34,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -37,12 +65,22 @@ class PersonServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Spy
+    private PersonCache personCache = new LocalPersonCache(100, Duration.ofMinutes(5));
+
+    @Spy
+    private PersonSearchIndex personSearchIndex = new PersonSearchIndex();
+
+    @Spy
+    private PersonTypeahead personTypeahead = new PersonTypeahead();
+
     @Spy
     @InjectMocks
     private PersonServiceImpl personServiceImpl;
 
     private PersonDto personDto;
     private Person person;
+    private List<Person> personList;
     private List<Role> rolesList;
     private Role adminRole;
     private Role softwareEngineerRole;
@@ -50,7 +88,7 @@ class PersonServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        List<Person> personList = new ArrayList<>();
+        personList = new ArrayList<>();
         rolesList = new ArrayList<>();
 
         Name name = new Name.Builder()
@@ -105,12 +143,22 @@ class PersonServiceImplTest {
 
         personList.add(newPerson);
 
-        when(personRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(personList));
+        when(personRepository.findIdSlice(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(1L, 2L), PageRequest.of(0, 2), true));
+        when(personRepository.findIdSliceWithLastName(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(1L, 2L), PageRequest.of(0, 2), true));
+        List<PersonDto> personDtoList = personList.stream().map(personServiceImpl::toDto).toList();
+        when(personRepository.findDtosByIdIn(anyCollection())).thenReturn(personDtoList);
+        when(personRepository.findDtoByUuid(person.getUuid())).thenReturn(Optional.of(personDto));
         when(personRepository.findByUuid(person.getUuid())).thenReturn(Optional.of(person));
         when(roleRepository.findByUuid(adminRole.getUuid())).thenReturn(Optional.of(adminRole));
         when(roleRepository.findByUuid(softwareEngineerRole.getUuid())).thenReturn(Optional.of(softwareEngineerRole));
+        when(roleRepository.getReferenceById(adminRole.getId())).thenReturn(adminRole);
+        when(roleRepository.getReferenceById(softwareEngineerRole.getId())).thenReturn(softwareEngineerRole);
 
         doAnswer(invocation -> person).when(personRepository).save(person);
+
+        ReflectionTestUtils.setField(personServiceImpl, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(personServiceImpl, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(personServiceImpl, "roleCache", new RoleCache(roleRepository, mock(PlatformTransactionManager.class)));
     }
 
     @Test
@@ -120,6 +168,81 @@ class PersonServiceImplTest {
         assertNotNull(person, "Person should not be null.");
     }
 
+    @Test
+    void shouldCreateAllPersonsAndReportInvalidRows() {
+        PersonDto invalidPerson = personServiceImpl.toDto(new Person.Builder()
+            .name(new Name.Builder().firstName("Anne").build())
+            .build());
+
+        List<PersonBatchResultDto> results = personServiceImpl.createAll(List.of(personDto, invalidPerson));
+
+        assertEquals(2, results.size(), "Every submitted row should have a result.");
+        assertTrue(results.get(0).isSuccess(), "The valid row should be saved.");
+        assertFalse(results.get(1).isSuccess(), "The row without a last name should be rejected.");
+        assertTrue(results.get(1).getError().contains("name.lastName"), "The error should name the invalid field.");
+        verify(personRepository).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRetryFailedChunkRowByRow() {
+        PersonDto otherPerson = personServiceImpl.toDto(new Person.Builder()
+            .name(new Name.Builder().firstName("Anne").lastName("Marie").build())
+            .build());
+
+        when(personRepository.saveAll(anyList()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"))
+            .thenReturn(List.of())
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        List<PersonBatchResultDto> results = personServiceImpl.createAll(List.of(personDto, otherPerson));
+
+        assertTrue(results.get(0).isSuccess(), "The first row should be saved on its own.");
+        assertFalse(results.get(1).isSuccess(), "The second row should be reported as failed.");
+        assertEquals("duplicate key", results.get(1).getError(), "The failure reason should be reported.");
+        verify(personRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldImportNdjsonAndReportFailedLines() throws Exception {
+        ReflectionTestUtils.setField(personServiceImpl, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(personServiceImpl, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        String ndjson = String.join("\n",
+            "{\"name\":{\"firstName\":\"Nichole\",\"lastName\":\"Avañez\"}}",
+            "{\"name\":{\"firstName\":\"Anne\"}}",
+            "{\"name\":{\"firstName\":\"Anne\",\"lastName\":\"Marie\"},\"gwa\":\"high\"}",
+            "{\"name\":{\"firstName\":\"Juan\",\"lastName\":\"Cruz\"},\"contactInformation\":{\"email\":\"juan@exist.com\"}}");
+        List<PersonBatchResultDto> failures = new ArrayList<>();
+
+        PersonImportResultDto result = personServiceImpl.importAll(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), failures::add);
+
+        assertEquals(4, result.getProcessed(), "Every line should be processed.");
+        assertEquals(2, result.getImported(), "The two valid lines should be imported.");
+        assertEquals(2, result.getFailed(), "The invalid lines should be counted as failed.");
+        assertEquals(List.of(2, 3), failures.stream().map(PersonBatchResultDto::getIndex).toList(), "Failures should name their line.");
+        assertTrue(failures.get(0).getError().contains("name.lastName"), "Validation errors should name the invalid field.");
+        verify(personRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldStopImportAtMalformedJson() throws Exception {
+        ReflectionTestUtils.setField(personServiceImpl, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(personServiceImpl, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        String ndjson = String.join("\n",
+            "{\"name\":{\"firstName\":\"Nichole\",\"lastName\":\"Avañez\"}}",
+            "{\"name\":{\"firstName\":\"Anne\",}}",
+            "{\"name\":{\"firstName\":\"Juan\",\"lastName\":\"Cruz\"}}");
+        List<PersonBatchResultDto> failures = new ArrayList<>();
+
+        PersonImportResultDto result = personServiceImpl.importAll(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), failures::add);
+
+        assertEquals(1, result.getImported(), "Lines before the malformed one should still be imported.");
+        assertEquals(1, failures.size(), "The malformed line should be reported once.");
+        assertEquals(2, failures.get(0).getIndex(), "The failure should name the malformed line.");
+        assertTrue(failures.get(0).getError().startsWith("Malformed JSON"), "The failure should explain why the import stopped.");
+    }
+
     @Test
     void shouldGetPerson() {
         when(personServiceImpl.getByUuid(person.getUuid())).thenReturn(Optional.ofNullable(personDto));
@@ -129,6 +252,66 @@ class PersonServiceImplTest {
         assertEquals(person.getId(), retrievedPerson.get().getId(), "The retrieved person's ID should match.");
     }
 
+    @Test
+    void shouldServeRepeatedGetFromCache() {
+        personServiceImpl.getByUuid(person.getUuid());
+        Optional<PersonDto> retrievedPerson = personServiceImpl.getByUuid(person.getUuid());
+
+        assertTrue(retrievedPerson.isPresent(), "A person should be retrieved.");
+        verify(personRepository, times(1)).findDtoByUuid(person.getUuid());
+    }
+
+    @Test
+    void shouldNotCachePersonReadFromReplica() {
+        TransactionSynchronizationManager.bindResource(ReplicaReads.REPLICA_READ, Boolean.TRUE);
+        try {
+            personServiceImpl.getByUuid(person.getUuid());
+            personServiceImpl.getByUuid(person.getUuid());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(ReplicaReads.REPLICA_READ);
+        }
+
+        verify(personCache, never()).put(any(), any());
+        verify(personRepository, times(2)).findDtoByUuid(person.getUuid());
+    }
+
+    @Test
+    void shouldNotLetCallersModifyCachedPerson() {
+        personServiceImpl.getByUuid(person.getUuid()).orElseThrow().getName().setFirstName("Changed");
+        personServiceImpl.getByUuid(person.getUuid()).orElseThrow().getRoles().clear();
+
+        PersonDto cachedPerson = personServiceImpl.getByUuid(person.getUuid()).orElseThrow();
+        assertEquals("Nichole", cachedPerson.getName().getFirstName(), "Changing a returned person should not change the cache.");
+        assertEquals(2, cachedPerson.getRoles().size(), "Changing a returned person's roles should not change the cache.");
+        verify(personRepository, times(1)).findDtoByUuid(person.getUuid());
+    }
+
+    @Test
+    void shouldKeepCachedPersonNewerThanLoadedOne() {
+        PersonDto updatedPerson = personServiceImpl.toDto(person);
+        updatedPerson.setName(new Name.Builder().firstName("Anne").lastName("Avañez").build());
+        updatedPerson.setVersion(personDto.getVersion() + 1);
+        personCache.put(person.getUuid(), updatedPerson);
+
+        personCache.put(person.getUuid(), personDto);
+
+        PersonDto cachedPerson = personCache.get(person.getUuid()).orElseThrow();
+        assertEquals(updatedPerson.getVersion(), cachedPerson.getVersion(), "A stale load should not replace a newer cached person.");
+        assertEquals("Anne", cachedPerson.getName().getFirstName(), "The cache should still hold the updated person.");
+    }
+
+    @Test
+    void shouldEvictCachedPersonOnDelete() {
+        when(personRepository.deleteByUuid(person.getUuid())).thenReturn(1);
+
+        personServiceImpl.getByUuid(person.getUuid());
+        personServiceImpl.delete(person.getUuid());
+        personServiceImpl.getByUuid(person.getUuid());
+
+        verify(personCache).evict(person.getUuid());
+        verify(personRepository, times(2)).findDtoByUuid(person.getUuid());
+    }
+
     @Test
     void shouldNotGetPerson() {
         when(personServiceImpl.getByUuid(person.getUuid())).thenReturn(Optional.empty());
@@ -150,6 +333,121 @@ class PersonServiceImplTest {
         assertNotNull(returnedList, "The returned list should not be null.");
     }
 
+    @Test
+    void shouldFilterPersonsWithSpecification() {
+        when(personRepository.findIdSlice(any(Specification.class), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(1L), PageRequest.of(0, 10), false));
+        PersonFilterDto filter = new PersonFilterDto();
+        filter.setEmployed(true);
+        filter.setMinGwa(1.0);
+
+        List<PersonDto> returnedList = personServiceImpl.getAll(filter, "name.lastName", "asc", PageRequest.of(0, 10));
+
+        assertEquals(1, returnedList.size(), "Only the matching person should be returned.");
+        verify(personRepository, never()).findIdSlice(any(Pageable.class));
+    }
+
+    @Test
+    void shouldRejectInvertedFilterRange() {
+        PersonFilterDto filter = new PersonFilterDto();
+        filter.setHiredFrom(LocalDate.of(2024, 1, 1));
+        filter.setHiredTo(LocalDate.of(2023, 1, 1));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> personServiceImpl.getAll(filter, "name.lastName", "asc", PageRequest.of(0, 10)),
+            "A range ending before it starts should be rejected.");
+        assertEquals(400, exception.getStatusCode().value(), "An inverted range should be a bad request.");
+        verifyNoInteractions(personRepository);
+    }
+
+    @Test
+    void shouldMatchNothingForUnknownRoles() {
+        PersonFilterDto filter = new PersonFilterDto();
+        filter.setRoles(List.of(UUID.randomUUID()));
+
+        List<PersonDto> returnedList = personServiceImpl.getAll(filter, "name.lastName", "asc", PageRequest.of(0, 10));
+
+        assertTrue(returnedList.isEmpty(), "No person can hold a role that does not exist.");
+        verify(personRepository, never()).findIdSlice(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void shouldGetFirstSliceWithNextCursor() {
+        PersonSliceDto slice = personServiceImpl.getAllByCursor("", "asc", 2);
+
+        assertEquals(2, slice.getContent().size(), "The slice should contain the first page of persons.");
+        assertNotNull(slice.getNextCursor(), "A continuation cursor should be returned when more persons exist.");
+        verify(personRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void shouldContinueFromCursor() {
+        when(personRepository.findIdSliceAfter(eq("Marie"), eq(2L), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+        when(personRepository.findIdSliceWithoutLastName(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+
+        String cursor = personServiceImpl.getAllByCursor("", "asc", 2).getNextCursor();
+        PersonSliceDto slice = personServiceImpl.getAllByCursor(cursor, "asc", 2);
+
+        assertTrue(slice.getContent().isEmpty(), "No persons should be left after the last key.");
+        assertNull(slice.getNextCursor(), "No cursor should be returned on the last slice.");
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(ResponseStatusException.class, () -> personServiceImpl.getAllByCursor("not-a-cursor", "asc", 2));
+    }
+
+    @Test
+    void shouldSearchCreatedPersonsByMisspelledName() {
+        when(personRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(personDto));
+        personServiceImpl.create(personDto);
+
+        List<PersonDto> results = personServiceImpl.search("nichol avanes", 10);
+
+        assertEquals(1, results.size(), "The created person should be found despite the typos.");
+        assertEquals(person.getUuid(), results.get(0).getUuid(), "The matching person should be returned.");
+        verify(personSearchIndex).index(any(Person.class));
+    }
+
+    @Test
+    void shouldNotSearchDeletedPerson() {
+        when(personRepository.deleteByUuid(person.getUuid())).thenReturn(1);
+        personServiceImpl.create(personDto);
+        personServiceImpl.delete(person.getUuid());
+
+        List<PersonDto> results = personServiceImpl.search("Avañez", 10);
+
+        assertTrue(results.isEmpty(), "A deleted person should no longer be found.");
+        verify(personRepository, never()).findDtosByIdIn(anyCollection());
+    }
+
+    @Test
+    void shouldCompleteCreatedPersonWithoutQueryingTheDatabase() {
+        personServiceImpl.create(personDto);
+        clearInvocations(personRepository);
+
+        List<PersonSummaryDto> completions = personServiceImpl.complete("avan", 10);
+
+        assertEquals(1, completions.size(), "The created person should complete.");
+        assertEquals(person.getUuid(), completions.get(0).getUuid(), "The completion should identify the person.");
+        assertEquals("Avañez", completions.get(0).getName().getLastName(), "The completion should carry the name.");
+        verifyNoInteractions(personRepository);
+    }
+
+    @Test
+    void shouldReportIndexStats() {
+        personServiceImpl.create(personDto);
+
+        List<IndexStatsDto> stats = personServiceImpl.getIndexStats();
+
+        assertEquals(List.of("search", "typeahead"), stats.stream().map(IndexStatsDto::getName).toList(), "Both indexes should be reported.");
+        assertTrue(stats.stream().allMatch(index -> index.getSize() == 1 && index.getMemoryBytes() > 0), "Each index should report its size and footprint.");
+    }
+
+    @Test
+    void shouldRejectBlankSearchQuery() {
+        assertThrows(ResponseStatusException.class, () -> personServiceImpl.search(" ", 10));
+    }
+
     @Test
     void shouldGetAllRoles() {
         when(personRepository.findByUuid(person.getUuid())).thenReturn(Optional.of(person));
@@ -268,10 +566,113 @@ class PersonServiceImplTest {
         verify(personRepository, never()).save(any(Person.class));
     }
 
+    @Test
+    void shouldRetryUpdateAfterConcurrentCommit() {
+        when(personRepository.save(any(Person.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Person.class, person.getId()))
+            .thenReturn(person);
+
+        Optional<PersonDto> result = personServiceImpl.patchContactInformation(person.getUuid(),
+            new ContactInformation.Builder().email("new@example.com").build());
+
+        assertTrue(result.isPresent(), "The update should succeed on a fresh read.");
+        verify(personRepository, times(2)).findByUuid(person.getUuid());
+        verify(personRepository, times(2)).save(any(Person.class));
+    }
+
+    @Test
+    void shouldReportConflictWhenRetriesRunOut() {
+        when(personRepository.save(any(Person.class))).thenThrow(new ObjectOptimisticLockingFailureException(Person.class, person.getId()));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> personServiceImpl.patchContactInformation(person.getUuid(), new ContactInformation.Builder().email("new@example.com").build()));
+
+        assertEquals(409, exception.getStatusCode().value(), "A person that keeps changing should be reported as a conflict.");
+        verify(personRepository, times(4)).save(any(Person.class));
+    }
+
+    @Test
+    void shouldRejectStaleIfMatch() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> personServiceImpl.patchContactInformation(person.getUuid(), new ContactInformation.Builder().email("new@example.com").build(), "\"stale\""));
+
+        assertEquals(412, exception.getStatusCode().value(), "A stale version tag should fail the precondition.");
+        verify(personRepository, never()).save(any(Person.class));
+    }
+
+    @Test
+    void shouldNotRetryWhenIfMatchIsGiven() {
+        when(personRepository.save(any(Person.class))).thenThrow(new ObjectOptimisticLockingFailureException(Person.class, person.getId()));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> personServiceImpl.update(person.getUuid(), personDto, "*"));
+
+        assertEquals(412, exception.getStatusCode().value(), "A change the client did not see should fail the precondition.");
+        verify(personRepository, times(1)).save(any(Person.class));
+    }
+
+    @Test
+    void shouldMergePatchNamedFields() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ReflectionTestUtils.setField(personServiceImpl, "objectMapper", objectMapper);
+
+        Optional<PersonDto> result = personServiceImpl.mergePatch(person.getUuid(),
+            objectMapper.readTree("{\"name\": {\"lastName\": \"Reyes\"}, \"contactInformation\": null}"));
+
+        assertTrue(result.isPresent(), "The existing person should be patched.");
+        assertEquals("Reyes", person.getName().getLastName(), "The patched last name should be applied.");
+        assertEquals("Nichole", person.getName().getFirstName(), "Members missing from the patch should be kept.");
+        assertNull(person.getContactInformation(), "A null member should remove the contact information.");
+        assertEquals(1.25, person.getGwa(), "Fields missing from the patch should be kept.");
+        assertEquals(2, person.getRoles().size(), "Roles missing from the patch should be kept.");
+        verify(personTypeahead).index(person);
+    }
+
+    @Test
+    void shouldRejectMergePatchOfReadOnlyField() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ReflectionTestUtils.setField(personServiceImpl, "objectMapper", objectMapper);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+            () -> personServiceImpl.mergePatch(person.getUuid(), objectMapper.readTree("{\"uuid\": \"" + UUID.randomUUID() + "\"}")));
+
+        assertEquals(400, exception.getStatusCode().value(), "Patching the UUID should be a bad request.");
+        verify(personRepository, never()).save(any(Person.class));
+    }
+
+    @Test
+    void shouldRejectInvalidMergePatch() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ReflectionTestUtils.setField(personServiceImpl, "objectMapper", objectMapper);
+
+        assertThrows(ResponseStatusException.class,
+            () -> personServiceImpl.mergePatch(person.getUuid(), objectMapper.readTree("{\"contactInformation\": {\"email\": \"not an email\"}}")));
+
+        assertEquals("nichole.avanez@exist.com", person.getContactInformation().getEmail(), "A rejected patch should change nothing.");
+        verify(personRepository, never()).save(any(Person.class));
+    }
+
+    @Test
+    void shouldExportCsvWithEscapedFields() throws Exception {
+        EntityManager entityManager = mock(EntityManager.class);
+        ReflectionTestUtils.setField(personServiceImpl, "entityManager", entityManager);
+        person.setName(new Name.Builder().firstName("Nichole, \"Nic\"").lastName("Avañez").build());
+        when(personRepository.streamAllWithRoles()).thenReturn(personList.stream());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        personServiceImpl.exportAll(ExportFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length, "A header and one line per person should be written.");
+        assertTrue(lines[0].startsWith("uuid,lastName,firstName"), "The first line should be the header.");
+        assertTrue(lines[1].contains(",Avañez,\"Nichole, \"\"Nic\"\"\","), "Fields with commas and quotes should be quoted.");
+        assertTrue(lines[1].contains(",Admin;Software Engineer,"), "Roles should be joined by name.");
+        verify(entityManager, times(2)).detach(any(Person.class));
+    }
+
     @Test
     void shouldDelete() {
-        when(personRepository.existsByUuid(person.getUuid())).thenReturn(true);
-        doNothing().when(personRepository).deleteByUuid(person.getUuid());
+        when(personRepository.deleteByUuid(person.getUuid())).thenReturn(1);
 
         boolean result = personServiceImpl.delete(person.getUuid());
 
@@ -281,11 +682,36 @@ class PersonServiceImplTest {
 
     @Test
     void shouldNotDelete() {
-        when(personRepository.existsByUuid(person.getUuid())).thenReturn(false);
+        when(personRepository.deleteByUuid(person.getUuid())).thenReturn(0);
 
         boolean result = personServiceImpl.delete(person.getUuid());
 
         assertFalse(result);
-        verify(personRepository, never()).deleteById(anyLong());
+        verify(personRepository, never()).existsByUuid(any(UUID.class));
+    }
+
+    @Test
+    void shouldDeleteAllInOneStatementPerChunk() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+        uuids.add(uuids.get(0));
+        when(personRepository.deleteAllByUuidIn(anyCollection())).thenReturn(1_000, 499);
+
+        int deleted = personServiceImpl.deleteAll(uuids);
+
+        assertEquals(1_499, deleted, "Deleted count should sum the count of every chunk.");
+        verify(personRepository, times(2)).deleteAllByUuidIn(anyCollection());
+        verify(personRepository, never()).findByUuid(any(UUID.class));
+        verify(personCache, times(1_500)).evict(any(UUID.class));
+    }
+
+    @Test
+    void shouldRejectOversizedDeleteBatch() {
+        List<UUID> uuids = Collections.nCopies(10_001, person.getUuid());
+
+        assertThrows(ResponseStatusException.class, () -> personServiceImpl.deleteAll(uuids));
+        verify(personRepository, never()).deleteAllByUuidIn(anyCollection());
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
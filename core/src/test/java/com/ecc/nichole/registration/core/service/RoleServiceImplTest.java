@@ -1,7 +1,10 @@
 package com.ecc.nichole.registration.core.service;
 
+import com.ecc.nichole.registration.core.cache.PersonCache;
+import com.ecc.nichole.registration.core.cache.RoleCache;
 import com.ecc.nichole.registration.core.model.Role;
 import com.ecc.nichole.registration.core.model.dto.RoleDto;
+import com.ecc.nichole.registration.core.repo.ReplicaReads;
 import com.ecc.nichole.registration.core.repo.RoleRepository;
 import com.ecc.nichole.registration.core.service.impl.RoleServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,16 +15,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 public class RoleServiceImplTest {
@@ -29,6 +35,9 @@ public class RoleServiceImplTest {
 	@Mock
 	private RoleRepository roleRepository;
 
+	@Mock
+	private PersonCache personCache;
+
     @Spy
 	@InjectMocks
 	private RoleServiceImpl roleService;
@@ -41,10 +50,14 @@ public class RoleServiceImplTest {
 	void setUp() {
 		MockitoAnnotations.openMocks(this);
         role = new Role();
+		role.setId(1L);
 		roleDto = roleService.toDto(role);
 
         doReturn(role).when(roleService).fromDto(roleDto);
         doReturn(roleDto).when(roleService).toDto(role);
+
+		ReflectionTestUtils.setField(roleService, "roleCache", new RoleCache(roleRepository, mock(PlatformTransactionManager.class)));
+		ReflectionTestUtils.setField(roleService, "personCache", personCache);
 	}
 
 	@ParameterizedTest
@@ -71,6 +84,44 @@ public class RoleServiceImplTest {
 		assertEquals(roleDto.getName(), retrievedRole.get().getName(), "Retrieved role name does not match.");
 	}
 
+	@Test
+	void shouldServeRepeatedLookupsFromCache() {
+		when(roleRepository.findByUuid(role.getUuid())).thenReturn(Optional.of(role));
+
+		roleService.getByUuid(role.getUuid());
+		Optional<RoleDto> retrievedRole = roleService.getByUuid(role.getUuid());
+
+		assertTrue(retrievedRole.isPresent(), "Retrieved role should be present.");
+		verify(roleRepository, times(1)).findByUuid(role.getUuid());
+	}
+
+	@Test
+	void shouldNotCacheRoleReadFromReplica() {
+		when(roleRepository.findByUuid(role.getUuid())).thenReturn(Optional.of(role));
+
+		TransactionSynchronizationManager.bindResource(ReplicaReads.REPLICA_READ, Boolean.TRUE);
+		try {
+			roleService.getByUuid(role.getUuid());
+			roleService.getByUuid(role.getUuid());
+		} finally {
+			TransactionSynchronizationManager.unbindResource(ReplicaReads.REPLICA_READ);
+		}
+
+		verify(roleRepository, times(2)).findByUuid(role.getUuid());
+	}
+
+	@Test
+	void shouldInvalidateCacheOnCreate() {
+		when(roleRepository.findByUuid(role.getUuid())).thenReturn(Optional.of(role));
+		when(roleRepository.save(any(Role.class))).thenReturn(role);
+
+		roleService.getByUuid(role.getUuid());
+		roleService.create(roleDto);
+		roleService.getByUuid(role.getUuid());
+
+		verify(roleRepository, times(2)).findByUuid(role.getUuid());
+	}
+
 	@Test
 	void shouldNotGetNonExistingRole() {
 		when(roleRepository.findByUuid(role.getUuid())).thenReturn(Optional.empty());
@@ -89,6 +140,7 @@ public class RoleServiceImplTest {
 		roleService.update(role.getUuid(), roleDto);
 
 		verify(roleRepository).save(role);
+		verify(personCache).clear();
 	}
 
 	@Test
@@ -102,7 +154,7 @@ public class RoleServiceImplTest {
 
 	@Test
 	void shouldDeleteExistingRole() {
-		when(roleRepository.existsByUuid(role.getUuid())).thenReturn(true);
+		when(roleRepository.deleteByUuid(role.getUuid())).thenReturn(1);
 
 		boolean isDeleted = roleService.delete(role.getUuid());
 
@@ -112,12 +164,12 @@ public class RoleServiceImplTest {
 
 	@Test
 	void shouldNotDeleteNonExistingRole() {
-		when(roleRepository.existsByUuid(role.getUuid())).thenReturn(false);
+		when(roleRepository.deleteByUuid(role.getUuid())).thenReturn(0);
 
 		boolean isDeleted = roleService.delete(role.getUuid());
 
 		assertFalse(isDeleted, "Role should not be deleted when it does not exist for ID: " + role.getUuid());
-		verify(roleRepository, never()).deleteById(anyLong());
+		verify(roleRepository, never()).existsByUuid(any(UUID.class));
 	}
 
 	@Test
@@ -0,0 +1,78 @@
+package com.ecc.nichole.registration.core.uuid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void shouldGenerateVersion7Uuids() {
+        long now = System.currentTimeMillis();
+        UUID uuid = new TimeOrderedUuidGenerator(() -> now).generate();
+
+        assertEquals(7, uuid.version(), "Generated UUID should be version 7.");
+        assertEquals(2, uuid.variant(), "Generated UUID should use the RFC 9562 variant.");
+        assertEquals(now, uuid.getMostSignificantBits() >>> 16, "The first 48 bits should hold the Unix timestamp in milliseconds.");
+    }
+
+    @Test
+    void shouldIncreaseWithinTheSameMillisecond() {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(() -> 1_700_000_000_000L);
+
+        UUID previous = generator.generate();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.generate();
+            assertTrue(next.compareTo(previous) > 0, "UUIDs from the same millisecond should keep increasing.");
+            previous = next;
+        }
+    }
+
+    @Test
+    void shouldStayMonotonicWhenTheClockGoesBackwards() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock::get);
+
+        UUID before = generator.generate();
+        clock.addAndGet(-5_000);
+        UUID after = generator.generate();
+
+        assertTrue(after.compareTo(before) > 0, "UUIDs should keep increasing after the clock moves backwards.");
+    }
+
+    @Test
+    void shouldGenerateUniqueUuidsConcurrently() throws Exception {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        uuids.add(generator.generate());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(80_000, uuids.size(), "Every generated UUID should be unique.");
+    }
+}
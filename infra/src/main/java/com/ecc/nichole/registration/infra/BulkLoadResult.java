@@ -0,0 +1,32 @@
+package com.ecc.nichole.registration.infra;
+
+public class BulkLoadResult {
+
+    private final long inserted;
+    private final long updated;
+    private final long rolesLinked;
+    private final long rolesUnlinked;
+
+    public BulkLoadResult(long inserted, long updated, long rolesLinked, long rolesUnlinked) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.rolesLinked = rolesLinked;
+        this.rolesUnlinked = rolesUnlinked;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getRolesLinked() {
+        return rolesLinked;
+    }
+
+    public long getRolesUnlinked() {
+        return rolesUnlinked;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecc.nichole.registration.infra;
 
 import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
@@ -23,11 +24,23 @@ public class JpaConfig {
     private DataSource dataSource;
 
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory(EntityManagerFactoryBuilder builder) {
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(EntityManagerFactoryBuilder builder,
+                                                                       ObjectProvider<ReplicaRoutingDataSource> replicaRouting) {
         Map<String, Object> properties = new HashMap<>();
-        properties.put("hibernate.hbm2ddl.auto", "create");
-        properties.put("hibernate.show_sql", true);
-        properties.put("hibernate.format_sql", true);
+        // The schema is owned by the Flyway scripts in the migration module.
+        properties.put("hibernate.hbm2ddl.auto", "validate");
+        properties.put("hibernate.jdbc.batch_size", 50);
+        properties.put("hibernate.order_inserts", true);
+        properties.put("hibernate.order_updates", true);
+        properties.put("hibernate.id.optimizer.pooled.preferred", "pooled");
+        properties.put("hibernate.default_batch_fetch_size", 100);
+        // Feeds the hibernate.* meters (query count, entity loads, second-level cache hits).
+        properties.put("hibernate.generate_statistics", true);
+        if (replicaRouting.getIfAvailable() != null) {
+            // Replicas are picked per physical connection. Hibernate otherwise holds the first one for the whole
+            // EntityManager, which open-in-view shares by every transaction of a request, reads and writes alike.
+            properties.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+        }
 
         return builder
                 .dataSource(dataSource)
@@ -0,0 +1,190 @@
+package com.ecc.nichole.registration.infra;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Loads persons and their role links with PostgreSQL's COPY protocol instead of JPA inserts.
+ * <p>
+ * Both inputs are CSV with a header row. Persons use the columns of {@link #PERSON_COLUMNS}; role
+ * links use {@code personUuid,roleUuid} and refer to roles that must already exist. Rows are copied
+ * into temporary staging tables and merged by UUID in one statement: new persons are inserted,
+ * existing ones updated, and each loaded person's role links replaced by the staged ones. Everything
+ * runs in a single transaction, so a failed load leaves the live tables untouched.
+ * <p>
+ * The application's person and role caches are bypassed and expire on their own time-to-live.
+ */
+@Service
+public class PersonBulkLoader {
+
+    static final String PERSON_COLUMNS = "uuid, title, firstName, middleName, lastName, suffix, streetNumber, barangay, city, "
+        + "zipcode, birthDate, gwa, hireDate, employed, landline, mobileNumber, email";
+
+    private static final String CREATE_STAGING_TABLES = """
+        CREATE TEMPORARY TABLE person_staging (
+            line BIGINT GENERATED ALWAYS AS IDENTITY,
+            uuid UUID NOT NULL,
+            title VARCHAR(255),
+            firstName VARCHAR(255),
+            middleName VARCHAR(255),
+            lastName VARCHAR(255),
+            suffix VARCHAR(255),
+            streetNumber VARCHAR(255),
+            barangay VARCHAR(255),
+            city VARCHAR(255),
+            zipcode INTEGER,
+            birthDate DATE,
+            gwa DOUBLE PRECISION,
+            hireDate DATE,
+            employed BOOLEAN,
+            landline VARCHAR(255),
+            mobileNumber VARCHAR(255),
+            email VARCHAR(255)
+        ) ON COMMIT DROP;
+        CREATE TEMPORARY TABLE person_role_staging (
+            personUuid UUID NOT NULL,
+            roleUuid UUID NOT NULL
+        ) ON COMMIT DROP
+        """;
+
+    private static final String COUNT_UNKNOWN_ROLES = """
+        SELECT count(*) FROM person_role_staging s
+        WHERE NOT EXISTS (SELECT 1 FROM Role r WHERE r.uuid = s.roleUuid)
+        """;
+
+    // Matches person_seq's INCREMENT BY and Person's allocationSize.
+    private static final int ID_BLOCK_SIZE = 50;
+
+    // Data-modifying CTEs all see the same snapshot, so no row may be touched twice: known UUIDs are
+    // updated, unknown ones inserted, links that stay are left alone, stale ones deleted and new ones
+    // inserted. A repeated UUID keeps its last line.
+    //
+    // Ids come in whole blocks, the way Hibernate's pooled optimizer takes them: a sequence value hi
+    // reserves hi - 49 through hi, except the first value, which reserves only itself. One spare block
+    // covers that case, so a load burns at most two blocks of ids rather than one block per row.
+    private static final String MERGE = """
+        WITH staged AS (
+            SELECT DISTINCT ON (uuid) * FROM person_staging ORDER BY uuid, line DESC
+        ), fresh AS (
+            SELECT s.*, row_number() OVER (ORDER BY s.line) AS n
+            FROM staged s
+            WHERE NOT EXISTS (SELECT 1 FROM person p WHERE p.uuid = s.uuid)
+        ), blocks AS (
+            SELECT nextval('person_seq') AS hi
+            FROM generate_series(1, (SELECT CASE WHEN count(*) = 0 THEN 0 ELSE count(*) / %1$d + 2 END FROM fresh))
+        ), ids AS (
+            SELECT row_number() OVER (ORDER BY id) AS n, id
+            FROM blocks, generate_series(greatest(hi - %1$d + 1, 1), hi) id
+        ), inserted AS (
+            INSERT INTO person (id, uuid, title, firstName, middleName, lastName, suffix, streetNumber, barangay, city,
+                                zipcode, birthDate, gwa, hireDate, employed, landline, mobileNumber, email, createdAt, updatedAt)
+            SELECT i.id, f.uuid, f.title, f.firstName, f.middleName, f.lastName, f.suffix, f.streetNumber, f.barangay, f.city,
+                   f.zipcode, f.birthDate, coalesce(f.gwa, 0), f.hireDate, coalesce(f.employed, false), f.landline,
+                   f.mobileNumber, f.email, now(), now()
+            FROM fresh f
+            JOIN ids i ON i.n = f.n
+            RETURNING id, uuid
+        ), updated AS (
+            UPDATE person p SET
+                title = s.title,
+                firstName = s.firstName,
+                middleName = s.middleName,
+                lastName = s.lastName,
+                suffix = s.suffix,
+                streetNumber = s.streetNumber,
+                barangay = s.barangay,
+                city = s.city,
+                zipcode = s.zipcode,
+                birthDate = s.birthDate,
+                gwa = coalesce(s.gwa, 0),
+                hireDate = s.hireDate,
+                employed = coalesce(s.employed, false),
+                landline = s.landline,
+                mobileNumber = s.mobileNumber,
+                email = s.email,
+                updatedAt = now(),
+                version = p.version + 1
+            FROM staged s
+            WHERE p.uuid = s.uuid
+            RETURNING p.id, p.uuid
+        ), upserted AS (
+            SELECT id, uuid, true AS inserted FROM inserted
+            UNION ALL
+            SELECT id, uuid, false AS inserted FROM updated
+        ), links AS (
+            SELECT DISTINCT u.id AS personId, r.id AS roleId
+            FROM person_role_staging s
+            JOIN upserted u ON u.uuid = s.personUuid
+            JOIN Role r ON r.uuid = s.roleUuid
+        ), unlinked AS (
+            DELETE FROM person_Role pr
+            USING upserted u
+            WHERE pr.Person_id = u.id
+              AND NOT EXISTS (SELECT 1 FROM links l WHERE l.personId = pr.Person_id AND l.roleId = pr.roles_id)
+            RETURNING 1
+        ), linked AS (
+            INSERT INTO person_Role (Person_id, roles_id)
+            SELECT personId, roleId FROM links
+            ON CONFLICT DO NOTHING
+            RETURNING 1
+        )
+        SELECT (SELECT count(*) FROM upserted WHERE inserted),
+               (SELECT count(*) FROM upserted WHERE NOT inserted),
+               (SELECT count(*) FROM linked),
+               (SELECT count(*) FROM unlinked)
+        """.formatted(ID_BLOCK_SIZE);
+
+    @Autowired
+    private DataSource dataSource;
+
+    public BulkLoadResult load(Reader persons, Reader personRoles) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                BulkLoadResult result = load(connection, persons, personRoles);
+                connection.commit();
+                return result;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private BulkLoadResult load(Connection connection, Reader persons, Reader personRoles) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLES);
+        }
+
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        copyManager.copyIn("COPY person_staging (" + PERSON_COLUMNS + ") FROM STDIN WITH (FORMAT csv, HEADER true)", persons);
+        copyManager.copyIn("COPY person_role_staging (personUuid, roleUuid) FROM STDIN WITH (FORMAT csv, HEADER true)", personRoles);
+
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet unknownRoles = statement.executeQuery(COUNT_UNKNOWN_ROLES)) {
+                unknownRoles.next();
+                if (unknownRoles.getLong(1) > 0) {
+                    throw new IllegalArgumentException(unknownRoles.getLong(1) + " role links refer to roles that do not exist.");
+                }
+            }
+
+            try (ResultSet merged = statement.executeQuery(MERGE)) {
+                merged.next();
+                return new BulkLoadResult(merged.getLong(1), merged.getLong(2), merged.getLong(3), merged.getLong(4));
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecc.nichole.registration.infra;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "registration.datasource.replica.urls")
+public class ReplicaRoutingConfig {
+
+    @Value("${registration.datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${registration.datasource.replica.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Value("${registration.datasource.replica.health-check-interval:10s}")
+    private Duration healthCheckInterval;
+
+    // Returns the replica's lag in seconds; blank checks connectivity only.
+    @Value("${registration.datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    @Value("${registration.datasource.replica.maximum-lag:5s}")
+    private Duration maximumLag;
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            // Replica pools share the primary's credentials and pool settings.
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i).trim());
+            config.setPoolName("replica-" + i);
+            config.setReadOnly(true);
+            // An unreachable replica must not stop startup; the health check takes it out of rotation instead.
+            config.setInitializationFailTimeout(-1);
+            // Replica pools are not beans, so the actuator does not bind their hikaricp.* meters on its own.
+            meterRegistry.ifAvailable(config::setMetricRegistry);
+            replicas.add(new HikariDataSource(config));
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+            primaryDataSource, replicas, ReplicaRoutingConfig::currentUser, readYourWritesWindow, lagQuery, maximumLag);
+        routingDataSource.startHealthChecks(healthCheckInterval);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static Object currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,274 @@
+package com.ecc.nichole.registration.infra;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ecc.nichole.registration.core.repo.ReplicaReads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Sends connections for read-only transactions to a round-robin pool of replicas and everything else to the primary.
+ * The routing decision is made when a physical connection is requested, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the transaction manager
+ * fetches the connection before the transaction's read-only flag is visible.
+ * <p>
+ * A writer whose key (normally the authenticated user) committed a transaction that changed data reads from the primary
+ * for {@code readYourWritesWindow}, so it never sees a replica that has not caught up with its own change. Read-write
+ * transactions that only read, or roll back, leave the writer on the replicas. A replica that
+ * fails to hand out a connection, fails validation or lags more than {@code maximumLag} is skipped until the next
+ * health check passes; with no healthy replica, reads fall back to the primary.
+ * <p>
+ * A transaction reading from a replica has {@link ReplicaReads#REPLICA_READ} bound as a transaction resource, so callers
+ * can keep possibly stale rows out of shared caches.
+ * <p>
+ * Hibernate must give the connection back at the end of each transaction (see {@link JpaConfig}); a connection held
+ * across the transactions of an open-in-view request would keep the first transaction's routing for all of them.
+ * <p>
+ * On PostgreSQL a lag query that does not grow while the primary is idle is
+ * {@code SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+ * ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Supplier<Object> writerKey;
+    private final Cache<Object, Boolean> recentWriters;
+    private final String lagQuery;
+    private final Duration maximumLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Supplier<Object> writerKey,
+                                    Duration readYourWritesWindow, String lagQuery, Duration maximumLag) {
+        this(primary, replicas, writerKey, readYourWritesWindow, lagQuery, maximumLag, Ticker.systemTicker());
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Supplier<Object> writerKey,
+                             Duration readYourWritesWindow, String lagQuery, Duration maximumLag, Ticker ticker) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size()).mapToObj(i -> new Replica(i, replicas.get(i))).toList();
+        this.writerKey = writerKey;
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(readYourWritesWindow)
+            .ticker(ticker)
+            .build();
+        this.lagQuery = lagQuery;
+        this.maximumLag = maximumLag;
+    }
+
+    /**
+     * Checks every replica on a background thread at the given interval, bringing failed replicas back once they pass.
+     */
+    public void startHealthChecks(Duration interval) {
+        healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecks.scheduleWithFixedDelay(this::checkHealth, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(username, password);
+    }
+
+    private Connection connect(String username, String password) throws SQLException {
+        Object key = writerKey.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Connection connection = connect(primary, username, password);
+            if (key != null && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+                return recordingWrites(connection, key);
+            }
+            return connection;
+        }
+        if (key != null && recentWriters.getIfPresent(key) != null) {
+            return connect(primary, username, password);
+        }
+
+        // Try each healthy replica once, starting after the one used last.
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = connect(replica.dataSource, username, password);
+                markReplicaRead();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Read replica {} refused a connection, reading from the primary until it recovers.",
+                    replica.index, e);
+                replica.healthy = false;
+            }
+        }
+        return connect(primary, username, password);
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    /**
+     * Records {@code key} as a recent writer once the transaction commits, if it executed anything but a query.
+     */
+    private Connection recordingWrites(Connection connection, Object key) {
+        AtomicBoolean wrote = new AtomicBoolean();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (wrote.get()) {
+                    recentWriters.put(key, Boolean.TRUE);
+                }
+            }
+        });
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if (TimedStatementDataSource.isIdentityMethod(method)) {
+                    return TimedStatementDataSource.identity(proxy, method, args);
+                }
+                Object result = TimedStatementDataSource.invoke(connection, method, args);
+                if (result instanceof Statement statement) {
+                    String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                    return recordingWrites(statement, method.getReturnType(), sql, wrote);
+                }
+                return result;
+            });
+    }
+
+    private static Object recordingWrites(Statement statement, Class<?> statementType, String preparedSql, AtomicBoolean wrote) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (TimedStatementDataSource.isIdentityMethod(method)) {
+                return TimedStatementDataSource.identity(proxy, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String executed ? executed : preparedSql;
+            if (isWrite(method.getName(), sql)) {
+                wrote.set(true);
+            }
+            return TimedStatementDataSource.invoke(statement, method, args);
+        };
+        return Proxy.newProxyInstance(statementType.getClassLoader(), new Class<?>[]{statementType}, handler);
+    }
+
+    // Updates and batches always count; execute and executeQuery count unless they run a plain SELECT.
+    static boolean isWrite(String method, String sql) {
+        if (method.startsWith("executeUpdate") || method.startsWith("executeLargeUpdate")
+            || method.startsWith("executeBatch") || method.startsWith("executeLargeBatch")) {
+            return true;
+        }
+        if (!method.equals("execute") && !method.equals("executeQuery")) {
+            return false;
+        }
+        return sql == null || !sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+
+    private static void markReplicaRead() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+            || TransactionSynchronizationManager.hasResource(ReplicaReads.REPLICA_READ)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(ReplicaReads.REPLICA_READ, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaReads.REPLICA_READ);
+            }
+        });
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy = isHealthy(replica.dataSource);
+            if (healthy != replica.healthy) {
+                log.warn("Read replica {} is now {}.", replica.index, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private boolean isHealthy(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return false;
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                // A null lag means the replica has not replayed anything yet, which is as good as caught up.
+                if (!resultSet.next()) {
+                    return true;
+                }
+                double lagSeconds = resultSet.getDouble(1);
+                return resultSet.wasNull() || lagSeconds * 1000 <= maximumLag.toMillis();
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    int healthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Stops the health checks and closes the replica pools; the primary is left to its owner.
+     */
+    @Override
+    public void close() throws Exception {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static class Replica {
+        private final int index;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+    }
+}
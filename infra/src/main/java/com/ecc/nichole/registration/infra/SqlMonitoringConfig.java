@@ -0,0 +1,50 @@
+package com.ecc.nichole.registration.infra;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class SqlMonitoringConfig {
+
+    // The data source JPA, JdbcTemplate and the transaction manager share, with or without read replicas.
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor timedStatementDataSourcePostProcessor(
+            @Value("${registration.sql.slow-threshold:200ms}") Duration slowThreshold,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+                    // Resolved lazily: a post-processor that pulled in the registry up front would initialise it too early.
+                    return new TimedStatementDataSource(dataSource, slowThreshold,
+                        observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            @Value("${registration.sql.statement-budget:20}") int statementBudget,
+            @Value("${registration.sql.fail-over-budget:false}") boolean failOverBudget,
+            @Value("${registration.sql.budget-exempt-paths:/api/v1/persons/batch,/api/v1/persons/import}") List<String> exemptPaths) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration =
+            new FilterRegistrationBean<>(new SqlStatementBudgetFilter(statementBudget, failOverBudget, exemptPaths));
+        // Count everything the request does, including the security filter chain.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
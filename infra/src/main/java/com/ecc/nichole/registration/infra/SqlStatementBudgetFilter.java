@@ -0,0 +1,60 @@
+package com.ecc.nichole.registration.infra;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Counts the SQL statements each request executes and reports requests over the budget, which usually means an
+ * N+1 query crept into the path. Over-budget requests are logged, or fail with an {@link IllegalStateException}
+ * when {@code failOverBudget} is set, as it should be in tests. Bulk endpoints whose statement count grows with the
+ * payload are listed in {@code exemptPaths} and not checked.
+ */
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final int budget;
+    private final boolean failOverBudget;
+    private final List<String> exemptPaths;
+
+    public SqlStatementBudgetFilter(int budget, boolean failOverBudget, List<String> exemptPaths) {
+        this.budget = budget;
+        this.failOverBudget = failOverBudget;
+        this.exemptPaths = exemptPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return exemptPaths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        int statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = SqlStatementCounter.stop();
+        }
+
+        log.debug("{} {} executed {} SQL statements.", request.getMethod(), request.getRequestURI(), statements);
+        if (statements > budget) {
+            String message = request.getMethod() + " " + request.getRequestURI() + " executed " + statements
+                + " SQL statements, over the budget of " + budget + ".";
+            if (failOverBudget) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecc.nichole.registration.infra;
+
+/**
+ * Counts the SQL statements a thread executes between {@link #start()} and {@link #stop()}. Statements executed
+ * outside a scope, or on another thread such as a streamed response body, are not counted.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Ends the current scope and returns the number of statements it saw, or zero without a scope.
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecc.nichole.registration.infra;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Times every statement executed through the connections it hands out. Each execution, including a whole JDBC batch,
+ * counts once towards the current {@link SqlStatementCounter} scope, and executions slower than the threshold are
+ * logged. Logged SQL never carries data: bound parameters stay as {@code ?} and inline literals are masked.
+ * <p>
+ * Each execution is also a {@code registration.sql} observation, which becomes a span under the current trace with the
+ * masked SQL as {@code db.statement}.
+ */
+public class TimedStatementDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(TimedStatementDataSource.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String OBSERVATION_NAME = "registration.sql";
+
+    private final long slowThresholdNanos;
+    private final ObservationRegistry observationRegistry;
+
+    // Hibernate issues a small set of distinct statements, so masking each one once keeps tracing cheap.
+    private final Cache<String, String> redacted = Caffeine.newBuilder().maximumSize(1_000).build();
+
+    public TimedStatementDataSource(DataSource targetDataSource, Duration slowThreshold) {
+        this(targetDataSource, slowThreshold, ObservationRegistry.NOOP);
+    }
+
+    public TimedStatementDataSource(DataSource targetDataSource, Duration slowThreshold, ObservationRegistry observationRegistry) {
+        super(targetDataSource);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if (isIdentityMethod(method)) {
+                    return identity(proxy, method, args);
+                }
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement statement) {
+                    // prepareStatement and prepareCall take the SQL up front; createStatement gets it per execution.
+                    String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                    return timed(statement, method.getReturnType(), sql);
+                }
+                return result;
+            });
+    }
+
+    private Object timed(Statement statement, Class<?> statementType, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String executed ? executed : preparedSql;
+            Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(method.getName())
+                .lowCardinalityKeyValue("db.operation", method.getName());
+            if (!observation.isNoop()) {
+                observation.highCardinalityKeyValue("db.statement", redactCached(sql));
+            }
+
+            long start = System.nanoTime();
+            observation.start();
+            try (Observation.Scope scope = observation.openScope()) {
+                return invoke(statement, method, args);
+            } catch (Throwable e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+                long elapsed = System.nanoTime() - start;
+                SqlStatementCounter.increment();
+                if (elapsed >= slowThresholdNanos) {
+                    log.warn("Slow SQL ({} ms, {}): {}", Duration.ofNanos(elapsed).toMillis(), method.getName(), redactCached(sql));
+                }
+            }
+        };
+        return Proxy.newProxyInstance(statementType.getClassLoader(), new Class<?>[]{statementType}, handler);
+    }
+
+    private String redactCached(String sql) {
+        return sql == null ? redact(null) : redacted.get(sql, TimedStatementDataSource::redact);
+    }
+
+    static String redact(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("'?'");
+        redacted = NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+        return WHITESPACE.matcher(redacted).replaceAll(" ").trim();
+    }
+
+    static boolean isIdentityMethod(Method method) {
+        return method.getName().equals("equals") && method.getParameterCount() == 1
+            || method.getName().equals("hashCode") && method.getParameterCount() == 0;
+    }
+
+    // Proxies are tracked in hash-based registries, so they must be equal only to themselves.
+    static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
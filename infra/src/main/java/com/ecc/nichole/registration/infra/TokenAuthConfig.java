@@ -0,0 +1,58 @@
+package com.ecc.nichole.registration.infra;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+@Configuration
+@ConditionalOnProperty(name = "registration.security.auth-mode", havingValue = "token")
+public class TokenAuthConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenAuthConfig.class);
+
+    @Value("${registration.security.token.secret:}")
+    private String secret;
+
+    @Bean
+    public SecretKey tokenSigningKey() {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            // Tokens from a random key do not survive a restart or work across instances.
+            log.warn("registration.security.token.secret is not set, signing tokens with a random key.");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("registration.security.token.secret must decode to at least 32 bytes.");
+            }
+        }
+        return new SecretKeySpec(keyBytes, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey tokenSigningKey) {
+        return NimbusJwtDecoder.withSecretKey(tokenSigningKey)
+            .macAlgorithm(MacAlgorithm.HS256)
+            .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecc.nichole.registration.infra;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping(SecurityConfig.TOKEN_PATH)
+@ConditionalOnProperty(name = "registration.security.auth-mode", havingValue = "token")
+public class TokenController {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> issueToken(Authentication authentication) {
+        Jwt token = tokenService.issue(authentication);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("access_token", token.getTokenValue());
+        body.put("token_type", "Bearer");
+        body.put("expires_in", Duration.between(Instant.now(), token.getExpiresAt()).toSeconds());
+        return ResponseEntity.ok(body);
+    }
+}
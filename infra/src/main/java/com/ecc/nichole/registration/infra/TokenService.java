@@ -0,0 +1,51 @@
+package com.ecc.nichole.registration.infra;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "registration.security.auth-mode", havingValue = "token")
+public class TokenService {
+
+    static final String ROLES_CLAIM = "roles";
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    @Value("${registration.security.token.time-to-live:15m}")
+    private Duration timeToLive;
+
+    public Jwt issue(Authentication authentication) {
+        Instant now = Instant.now();
+        List<String> roles = authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .filter(authority -> authority.startsWith(ROLE_PREFIX))
+            .map(authority -> authority.substring(ROLE_PREFIX.length()))
+            .toList();
+
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .subject(authentication.getName())
+            .issuedAt(now)
+            .expiresAt(now.plus(timeToLive))
+            .claim(ROLES_CLAIM, roles)
+            .build();
+
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims));
+    }
+}
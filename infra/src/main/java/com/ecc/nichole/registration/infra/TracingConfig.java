@@ -0,0 +1,23 @@
+package com.ecc.nichole.registration.infra;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "registration.tracing.file")
+public class TracingConfig {
+
+    @Value("${registration.tracing.file}")
+    private Path file;
+
+    // Picked up by the actuator's OpenTelemetry setup next to any other exporter, such as OTLP.
+    @Bean
+    public SpanExporter fileSpanExporter() {
+        return new FileSpanExporter(file);
+    }
+}
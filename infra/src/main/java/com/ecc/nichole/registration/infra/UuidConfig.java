@@ -0,0 +1,30 @@
+package com.ecc.nichole.registration.infra;
+
+import com.ecc.nichole.registration.core.uuid.RandomUuidGenerator;
+import com.ecc.nichole.registration.core.uuid.TimeOrderedUuidGenerator;
+import com.ecc.nichole.registration.core.uuid.UuidGenerator;
+import com.ecc.nichole.registration.core.uuid.UuidGenerators;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UuidConfig {
+
+    // time-ordered: UUIDv7, new rows append to the uuid index; random: UUIDv4, inserts spread across it.
+    @Value("${registration.uuid.generator:time-ordered}")
+    private String generator;
+
+    // Entities take their UUID in the constructor, outside Spring, so the choice is installed globally.
+    @Bean
+    public UuidGenerator uuidGenerator() {
+        UuidGenerator uuidGenerator = switch (generator) {
+            case "time-ordered" -> new TimeOrderedUuidGenerator();
+            case "random" -> new RandomUuidGenerator();
+            default -> throw new IllegalStateException(
+                "registration.uuid.generator must be time-ordered or random, not " + generator + ".");
+        };
+        UuidGenerators.setGenerator(uuidGenerator);
+        return uuidGenerator;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecc.nichole.registration.infra;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class CachingPasswordEncoderTest {
+
+    private PasswordEncoder delegate;
+    private CachingPasswordEncoder encoder;
+    private String encodedPassword;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new BCryptPasswordEncoder(4));
+        encoder = new CachingPasswordEncoder(delegate, 100, Duration.ofMinutes(5));
+        encodedPassword = encoder.encode("admin");
+    }
+
+    @Test
+    void shouldHashOnlyOnceForRepeatedSuccessfulChecks() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(encoder.matches("admin", encodedPassword), "Correct password should match.");
+        }
+
+        verify(delegate, times(1)).matches("admin", encodedPassword);
+        assertEquals(1, encoder.size(), "One successful check should be cached.");
+    }
+
+    @Test
+    void shouldNotCacheFailedChecks() {
+        assertFalse(encoder.matches("wrong", encodedPassword), "Wrong password should not match.");
+        assertFalse(encoder.matches("wrong", encodedPassword), "Wrong password should not match.");
+
+        verify(delegate, times(2)).matches("wrong", encodedPassword);
+        assertEquals(0, encoder.size(), "Failed checks should not be cached.");
+    }
+
+    @Test
+    void shouldNotReuseEntryAfterPasswordChange() {
+        assertTrue(encoder.matches("admin", encodedPassword), "Correct password should match.");
+        String changedPassword = encoder.encode("changed");
+
+        assertFalse(encoder.matches("admin", changedPassword), "Old password should not match the new hash.");
+        verify(delegate).matches("admin", changedPassword);
+    }
+}
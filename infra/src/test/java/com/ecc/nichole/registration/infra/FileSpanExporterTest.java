@@ -0,0 +1,57 @@
+package com.ecc.nichole.registration.infra;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldWriteOneLinePerSpanWithParentLinks() throws Exception {
+        Path file = directory.resolve("traces/spans.jsonl");
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+            .build();
+        Tracer tracer = tracerProvider.get("test");
+
+        Span parent = tracer.spanBuilder("PATCH /api/v1/persons/{uuid}/roles").startSpan();
+        try (Scope scope = parent.makeCurrent()) {
+            tracer.spanBuilder("executeQuery").startSpan()
+                .setAttribute("db.statement", "select r1_0.id from role r1_0 where r1_0.id in (?)")
+                .end();
+        } finally {
+            parent.end();
+        }
+        tracerProvider.shutdown().join(5, TimeUnit.SECONDS);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size(), "Each finished span should be one line.");
+
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+        assertEquals("executeQuery", child.get("name").asText());
+        assertEquals(root.get("traceId").asText(), child.get("traceId").asText(), "Spans should share the trace.");
+        assertEquals(root.get("spanId").asText(), child.get("parentSpanId").asText(), "Child should point at its parent.");
+        assertTrue(root.get("parentSpanId").isNull(), "Root span should have no parent.");
+        assertEquals("select r1_0.id from role r1_0 where r1_0.id in (?)", child.get("attributes").get("db.statement").asText());
+    }
+}
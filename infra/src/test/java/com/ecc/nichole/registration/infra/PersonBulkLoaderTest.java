@@ -0,0 +1,172 @@
+package com.ecc.nichole.registration.infra;
+
+import com.ecc.nichole.registration.migration.MigrationConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersonBulkLoaderTest {
+
+    private static final String PERSON_HEADER = PersonBulkLoader.PERSON_COLUMNS.replace(" ", "");
+    private static final String ROLE_HEADER = "personUuid,roleUuid";
+
+    private static final UUID ADMIN = UUID.randomUUID();
+    private static final UUID DEVELOPER = UUID.randomUUID();
+    private static final UUID QA = UUID.randomUUID();
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private final PersonBulkLoader loader = new PersonBulkLoader();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+
+        FluentConfiguration configuration = Flyway.configure().dataSource(dataSource);
+        new MigrationConfig().migrationCustomizer().customize(configuration);
+        configuration.load().migrate();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loader, "dataSource", dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE person_Role, person, Role");
+        jdbcTemplate.update("INSERT INTO Role (id, uuid, name) VALUES (1, ?, 'Admin'), (2, ?, 'Developer'), (3, ?, 'QA')",
+            ADMIN, DEVELOPER, QA);
+    }
+
+    @Test
+    void shouldInsertNewPersonsWithRoles() throws Exception {
+        UUID juan = UUID.randomUUID();
+        UUID maria = UUID.randomUUID();
+
+        BulkLoadResult result = load(
+            List.of(person(juan, "Dela Cruz"), person(maria, "Santos")),
+            List.of(link(juan, ADMIN), link(juan, DEVELOPER), link(maria, QA)));
+
+        assertEquals(2, result.getInserted(), "Both persons should be inserted.");
+        assertEquals(0, result.getUpdated(), "Nothing should be updated.");
+        assertEquals(3, result.getRolesLinked(), "Every staged link should be inserted.");
+        assertEquals(List.of("Admin", "Developer"), roleNames(juan));
+        assertEquals(List.of("QA"), roleNames(maria));
+    }
+
+    @Test
+    void shouldUpdateExistingUuidAndReplaceItsRoleLinks() throws Exception {
+        UUID juan = UUID.randomUUID();
+        load(List.of(person(juan, "Dela Cruz")), List.of(link(juan, ADMIN), link(juan, DEVELOPER)));
+        long id = personId(juan);
+
+        BulkLoadResult result = load(List.of(person(juan, "Reyes")), List.of(link(juan, DEVELOPER), link(juan, QA)));
+
+        assertEquals(0, result.getInserted(), "A known UUID should not be inserted again.");
+        assertEquals(1, result.getUpdated(), "A known UUID should be updated.");
+        assertEquals(1, result.getRolesLinked(), "Only the new link should be inserted.");
+        assertEquals(1, result.getRolesUnlinked(), "Only the dropped link should be deleted.");
+        assertEquals(id, personId(juan), "The person should keep its id.");
+        assertEquals("Reyes", jdbcTemplate.queryForObject("SELECT lastName FROM person WHERE uuid = ?", String.class, juan));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT version FROM person WHERE uuid = ?", Long.class, juan),
+            "The update should bump the version, so cached ETags go stale.");
+        assertEquals(List.of("Developer", "QA"), roleNames(juan));
+    }
+
+    @Test
+    void shouldKeepLastLineOfRepeatedUuid() throws Exception {
+        UUID juan = UUID.randomUUID();
+
+        BulkLoadResult result = load(
+            List.of(person(juan, "Dela Cruz"), person(juan, "Reyes")),
+            List.of(link(juan, ADMIN), link(juan, ADMIN)));
+
+        assertEquals(1, result.getInserted(), "A repeated UUID should be one person.");
+        assertEquals(1, result.getRolesLinked(), "A repeated link should be one link.");
+        assertEquals("Reyes", jdbcTemplate.queryForObject("SELECT lastName FROM person WHERE uuid = ?", String.class, juan),
+            "The last line should win.");
+    }
+
+    @Test
+    void shouldDrawIdsOnlyForNewPersons() throws Exception {
+        List<UUID> uuids = Stream.generate(UUID::randomUUID).limit(120).toList();
+        List<String> links = uuids.stream().map(uuid -> link(uuid, ADMIN)).toList();
+        long before = sequenceValue();
+
+        load(uuids.stream().map(uuid -> person(uuid, "Dela Cruz")).toList(), links);
+
+        assertTrue(sequenceValue() - before <= 4 * 50, "New persons should take ids in blocks, not one block each.");
+        assertEquals(120, jdbcTemplate.queryForObject("SELECT count(DISTINCT id) FROM person", Integer.class));
+
+        long loaded = sequenceValue();
+        BulkLoadResult result = load(uuids.stream().map(uuid -> person(uuid, "Reyes")).toList(), links);
+
+        assertEquals(120, result.getUpdated());
+        assertEquals(loaded, sequenceValue(), "Updating known persons should not draw ids.");
+    }
+
+    @Test
+    void shouldRejectUnknownRoleWithoutChangingAnything() throws Exception {
+        UUID juan = UUID.randomUUID();
+        load(List.of(person(juan, "Dela Cruz")), List.of(link(juan, ADMIN)));
+
+        UUID maria = UUID.randomUUID();
+        assertThrows(IllegalArgumentException.class, () -> load(
+            List.of(person(juan, "Reyes"), person(maria, "Santos")),
+            List.of(link(juan, DEVELOPER), link(maria, UUID.randomUUID()))));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM person", Integer.class), "No person should be added.");
+        assertEquals("Dela Cruz", jdbcTemplate.queryForObject("SELECT lastName FROM person WHERE uuid = ?", String.class, juan),
+            "The existing person should be untouched.");
+        assertEquals(List.of("Admin"), roleNames(juan), "The existing links should be untouched.");
+    }
+
+    private BulkLoadResult load(List<String> persons, List<String> links) throws Exception {
+        return loader.load(
+            new StringReader(PERSON_HEADER + "\n" + String.join("\n", persons) + "\n"),
+            new StringReader(ROLE_HEADER + "\n" + String.join("\n", links) + "\n"));
+    }
+
+    private static String person(UUID uuid, String lastName) {
+        return uuid + ",Mr.,Juan,,\"" + lastName + "\",,1 Rizal Street,San Antonio,Pasig,1600,1990-01-01,1.75,2020-06-01,true,,,juan@example.com";
+    }
+
+    private static String link(UUID person, UUID role) {
+        return person + "," + role;
+    }
+
+    private long sequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM person_seq", Long.class);
+    }
+
+    private long personId(UUID uuid) {
+        return jdbcTemplate.queryForObject("SELECT id FROM person WHERE uuid = ?", Long.class, uuid);
+    }
+
+    private List<String> roleNames(UUID uuid) {
+        return jdbcTemplate.queryForList("SELECT r.name FROM person p JOIN person_Role pr ON pr.Person_id = p.id "
+            + "JOIN Role r ON r.id = pr.roles_id WHERE p.uuid = ? ORDER BY r.name", String.class, uuid);
+    }
+}
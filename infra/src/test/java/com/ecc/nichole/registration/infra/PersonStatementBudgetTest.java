@@ -0,0 +1,128 @@
+package com.ecc.nichole.registration.infra;
+
+import com.ecc.nichole.registration.migration.MigrationConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the person endpoints through the statement budget filter with {@code fail-over-budget} on, so an N+1 query
+ * on these paths fails here instead of only logging a warning in production.
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=false",
+    "registration.sql.statement-budget=20",
+    "registration.sql.fail-over-budget=true"
+})
+@AutoConfigureMockMvc
+class PersonStatementBudgetTest {
+
+    // Well over the budget, so a query per person or per role cannot stay under it.
+    private static final int PERSONS = 60;
+
+    private static final UUID ADMIN = UUID.randomUUID();
+    private static final UUID DEVELOPER = UUID.randomUUID();
+    private static final UUID QA = UUID.randomUUID();
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+
+        FluentConfiguration configuration = Flyway.configure().dataSource(postgres.getPostgresDatabase());
+        new MigrationConfig().migrationCustomizer().customize(configuration);
+        configuration.load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.update("INSERT INTO Role (id, uuid, name) VALUES (1, ?, 'Admin'), (2, ?, 'Developer'), (3, ?, 'QA')",
+            ADMIN, DEVELOPER, QA);
+        jdbcTemplate.update("INSERT INTO person (id, uuid, firstName, lastName, zipcode, gwa, employed) "
+            + "SELECT i, gen_random_uuid(), 'First' || i, 'Last' || i, 1000, 1.5, true FROM generate_series(1, ?) i", PERSONS);
+        jdbcTemplate.update("INSERT INTO person_Role SELECT i, 1 + i % 3 FROM generate_series(1, ?) i", PERSONS);
+        jdbcTemplate.update("INSERT INTO person_Role SELECT i, 1 + (i + 1) % 3 FROM generate_series(1, ?) i", PERSONS);
+        jdbcTemplate.execute("SELECT setval('person_seq', " + (PERSONS + 50) + ")");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @Test
+    void shouldListPageWithRolesWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/v1/persons").param("size", String.valueOf(PERSONS)).header(HttpHeaders.AUTHORIZATION, admin()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(PERSONS)))
+            .andExpect(jsonPath("$[0].roles", hasSize(2)));
+    }
+
+    @Test
+    void shouldUpdatePersonWithinBudget() throws Exception {
+        UUID uuid = new JdbcTemplate(postgres.getPostgresDatabase())
+            .queryForObject("SELECT uuid FROM person WHERE id = 1", UUID.class);
+        String person = """
+            {"name": {"firstName": "Juan", "lastName": "Zamora"},
+             "address": {"zipcode": 1000},
+             "gwa": 1.25,
+             "roles": [{"uuid": "%s"}, {"uuid": "%s"}, {"uuid": "%s"}]}
+            """.formatted(ADMIN, DEVELOPER, QA);
+
+        mockMvc.perform(put("/api/v1/persons/{uuid}", uuid)
+                .header(HttpHeaders.AUTHORIZATION, admin())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(person))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/persons/{uuid}", uuid).header(HttpHeaders.AUTHORIZATION, admin()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name.lastName").value("Zamora"))
+            .andExpect(jsonPath("$.roles", hasSize(3)));
+    }
+
+    private static String admin() {
+        return "Basic " + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @ComponentScan("com.ecc.nichole.registration.core")
+    @Import({JpaConfig.class, SecurityConfig.class, SqlMonitoringConfig.class})
+    static class TestConfig {
+    }
+}
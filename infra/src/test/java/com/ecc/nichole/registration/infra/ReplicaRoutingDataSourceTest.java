@@ -0,0 +1,176 @@
+package com.ecc.nichole.registration.infra;
+
+import com.ecc.nichole.registration.core.repo.ReplicaReads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private String currentUser;
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replication_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replication_lag VALUES (0)");
+
+        routingDataSource = routingTo(replica);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    @Test
+    void shouldReadFromReplicaInReadOnlyTransactions() {
+        assertEquals("replica", readOnly.execute(status -> origin()), "Read-only work should go to the replica.");
+    }
+
+    @Test
+    void shouldWriteToPrimary() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO person (name) VALUES ('Juan')"));
+
+        assertEquals(1, count(primary), "Write should land on the primary.");
+        assertEquals(0, count(replica), "Write should not land on the replica.");
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM origin", String.class),
+            "Work outside a transaction should go to the primary.");
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimaryWithinWindow() {
+        currentUser = "admin";
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO person (name) VALUES ('Juan')"));
+
+        assertEquals("primary", readOnly.execute(status -> origin()), "Writer should read from the primary right after a write.");
+
+        currentUser = "viewer";
+        assertEquals("replica", readOnly.execute(status -> origin()), "Other users should keep reading from the replica.");
+
+        currentUser = "admin";
+        nanos.addAndGet(WINDOW.plusSeconds(1).toNanos());
+        assertEquals("replica", readOnly.execute(status -> origin()), "Writer should return to the replica after the window.");
+    }
+
+    @Test
+    void shouldNotPinWriterWithoutCommittedChanges() {
+        currentUser = "admin";
+        readWrite.executeWithoutResult(status -> origin());
+        assertEquals("replica", readOnly.execute(status -> origin()), "A read-write transaction that only read should not pin the user.");
+
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO person (name) VALUES ('Juan')");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", readOnly.execute(status -> origin()), "A rolled back write should not pin the user.");
+    }
+
+    @Test
+    void shouldMarkTransactionsReadingFromReplica() {
+        assertTrue(markedAsReplicaRead(), "Replica reads should be marked.");
+        assertFalse(TransactionSynchronizationManager.hasResource(ReplicaReads.REPLICA_READ),
+            "The mark should end with the transaction.");
+
+        currentUser = "admin";
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO person (name) VALUES ('Juan')"));
+        assertFalse(markedAsReplicaRead(), "Primary reads should not be marked.");
+    }
+
+    @Test
+    void shouldTellWritesFromQueries() {
+        assertTrue(ReplicaRoutingDataSource.isWrite("executeUpdate", "UPDATE person SET name = ?"));
+        assertTrue(ReplicaRoutingDataSource.isWrite("executeBatch", null));
+        assertTrue(ReplicaRoutingDataSource.isWrite("execute", "WITH staged AS (SELECT 1) INSERT INTO person SELECT * FROM staged"));
+        assertFalse(ReplicaRoutingDataSource.isWrite("executeQuery", "  select p1_0.id from person p1_0"));
+        assertFalse(ReplicaRoutingDataSource.isWrite("setFetchSize", null));
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaRefusesConnections() throws Exception {
+        routingDataSource.close();
+        routingDataSource = routingTo(new DriverManagerDataSource("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", ""));
+
+        assertEquals("primary", readOnly.execute(status -> origin()), "Reads should fall back to the primary.");
+        assertEquals(0, routingDataSource.healthyReplicaCount(), "Refusing replica should be taken out of rotation.");
+    }
+
+    @Test
+    void shouldSkipLaggingReplicaUntilItCatchesUp() {
+        new JdbcTemplate(replica).update("UPDATE replication_lag SET seconds = 30");
+        routingDataSource.checkHealth();
+
+        assertEquals(0, routingDataSource.healthyReplicaCount(), "Lagging replica should be unhealthy.");
+        assertEquals("primary", readOnly.execute(status -> origin()), "Reads should skip a lagging replica.");
+
+        new JdbcTemplate(replica).update("UPDATE replication_lag SET seconds = 0");
+        routingDataSource.checkHealth();
+
+        assertEquals(1, routingDataSource.healthyReplicaCount(), "Caught-up replica should be healthy again.");
+        assertEquals("replica", readOnly.execute(status -> origin()), "Reads should return to the recovered replica.");
+    }
+
+    private ReplicaRoutingDataSource routingTo(DataSource replicaDataSource) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replicaDataSource), () -> currentUser,
+            WINDOW, "SELECT seconds FROM replication_lag", Duration.ofSeconds(5), nanos::get);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return routing;
+    }
+
+    private boolean markedAsReplicaRead() {
+        return Boolean.TRUE.equals(readOnly.execute(status -> {
+            origin();
+            return TransactionSynchronizationManager.hasResource(ReplicaReads.REPLICA_READ);
+        }));
+    }
+
+    private String origin() {
+        return jdbcTemplate.queryForObject("SELECT name FROM origin", String.class);
+    }
+
+    private static int count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM person", Integer.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO origin VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE person (name VARCHAR(64))");
+        return dataSource;
+    }
+}
@@ -0,0 +1,130 @@
+package com.ecc.nichole.registration.infra;
+
+import com.ecc.nichole.registration.core.repo.ReplicaReads;
+import com.ecc.nichole.registration.migration.MigrationConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs several transactions in one request with open-in-view on, as {@code GET /persons/{uuid}} does, against a
+ * primary and a replica database on one embedded PostgreSQL server.
+ */
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.open-in-view=true"
+})
+@AutoConfigureMockMvc(addFilters = false)
+class ReplicaRoutingOpenInViewTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void startDatabases() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("CREATE DATABASE replica");
+        migrate(postgres.getPostgresDatabase(), "primary");
+        migrate(postgres.getDatabase("postgres", "replica"), "replica");
+    }
+
+    @AfterAll
+    static void stopDatabases() throws Exception {
+        postgres.close();
+    }
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("registration.datasource.replica.urls", () -> postgres.getJdbcUrl("postgres", "replica"));
+    }
+
+    @Test
+    void shouldRouteEachTransactionOfAnOpenInViewRequest() throws Exception {
+        mockMvc.perform(get("/origins"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.versionRead").value("replica"))
+            .andExpect(jsonPath("$.bodyRead").value("replica"))
+            .andExpect(jsonPath("$.bodyReadMarked").value(true))
+            .andExpect(jsonPath("$.write").value("primary"));
+    }
+
+    private static void migrate(DataSource dataSource, String origin) {
+        FluentConfiguration configuration = Flyway.configure().dataSource(dataSource);
+        new MigrationConfig().migrationCustomizer().customize(configuration);
+        configuration.load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO origin VALUES (?)", origin);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @Import({ReplicaRoutingConfig.class, JpaConfig.class, OriginController.class})
+    static class TestConfig {
+    }
+
+    @RestController
+    static class OriginController {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        OriginController(PlatformTransactionManager transactionManager) {
+            readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        // Shaped like GET /persons/{uuid}: the version read and the body read each run their own read-only transaction.
+        @GetMapping("/origins")
+        Map<String, Object> origins() {
+            Map<String, Object> origins = new LinkedHashMap<>();
+            origins.put("versionRead", readOnly.execute(status -> origin()));
+            readOnly.executeWithoutResult(status -> {
+                origins.put("bodyRead", origin());
+                origins.put("bodyReadMarked", ReplicaReads.isReplicaRead());
+            });
+            origins.put("write", readWrite.execute(status -> origin()));
+            return origins;
+        }
+
+        private String origin() {
+            return (String) entityManager.createNativeQuery("SELECT name FROM origin").getSingleResult();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecc.nichole.registration.infra;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlStatementBudgetFilterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new TimedStatementDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""), Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void shouldFailRequestOverBudget() {
+        SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(2, true, List.of());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/persons"), new MockHttpServletResponse(), statements(3)));
+        assertEquals("GET /api/v1/persons executed 3 SQL statements, over the budget of 2.", exception.getMessage());
+    }
+
+    @Test
+    void shouldPassRequestWithinBudget() {
+        SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(2, true, List.of());
+
+        assertDoesNotThrow(() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/persons"), new MockHttpServletResponse(), statements(2)),
+            "Request within budget should pass.");
+    }
+
+    @Test
+    void shouldOnlyWarnWhenNotFailing() {
+        SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(2, false, List.of());
+
+        assertDoesNotThrow(() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/persons"), new MockHttpServletResponse(), statements(3)),
+            "Over-budget request should only be logged.");
+    }
+
+    @Test
+    void shouldSkipExemptPaths() {
+        SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(2, true, List.of("/api/v1/persons/batch"));
+
+        assertDoesNotThrow(() -> filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/persons/batch"), new MockHttpServletResponse(), statements(3)),
+            "Bulk endpoints should not be held to the budget.");
+    }
+
+    private FilterChain statements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            }
+        };
+    }
+}
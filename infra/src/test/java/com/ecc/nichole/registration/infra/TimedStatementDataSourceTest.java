@@ -0,0 +1,101 @@
+package com.ecc.nichole.registration.infra;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.h2.jdbc.JdbcConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class TimedStatementDataSourceTest {
+
+    private TimedStatementDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new TimedStatementDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""), Duration.ZERO);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE person (name VARCHAR(64))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementCounter.stop();
+    }
+
+    @Test
+    void shouldCountEachExecutionInScope() {
+        SqlStatementCounter.start();
+
+        jdbcTemplate.update("INSERT INTO person (name) VALUES (?)", "Juan");
+        jdbcTemplate.execute("INSERT INTO person (name) VALUES ('Maria')");
+        jdbcTemplate.batchUpdate("INSERT INTO person (name) VALUES (?)", List.of(new Object[]{"Jose"}, new Object[]{"Ana"}));
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person", Integer.class);
+
+        assertEquals(4, SqlStatementCounter.stop(), "Prepared, plain, batched and query executions should each count once.");
+    }
+
+    @Test
+    void shouldNotCountOutsideScope() {
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person", Integer.class);
+
+        assertEquals(0, SqlStatementCounter.stop(), "Statements outside a scope should not be counted.");
+    }
+
+    @Test
+    void shouldStillUnwrapToDriverConnection() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertNotNull(connection.unwrap(JdbcConnection.class), "Driver-specific APIs should stay reachable.");
+        }
+    }
+
+    @Test
+    void shouldObserveEachExecutionWithMaskedStatement() {
+        List<Observation.Context> observed = new ArrayList<>();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                observed.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        JdbcTemplate observedTemplate = new JdbcTemplate(new TimedStatementDataSource(dataSource.getTargetDataSource(),
+            Duration.ofSeconds(1), observationRegistry));
+
+        observedTemplate.queryForObject("SELECT COUNT(*) FROM person WHERE name = 'Juan'", Integer.class);
+
+        assertEquals(1, observed.size(), "One statement should be one observation.");
+        Observation.Context context = observed.get(0);
+        assertEquals("registration.sql", context.getName());
+        assertEquals("executeQuery", context.getContextualName());
+        assertEquals("SELECT COUNT(*) FROM person WHERE name = '?'", context.getHighCardinalityKeyValue("db.statement").getValue(),
+            "Traced SQL should be masked.");
+    }
+
+    @Test
+    void shouldRedactLiteralsButKeepStructure() {
+        String sql = "select p1_0.id from person p1_0\n  where p1_0.name = 'O''Brien' and p1_0.gwa > 1.25 and p1_0.uuid = ? fetch first 10 rows only";
+
+        assertEquals("select p1_0.id from person p1_0 where p1_0.name = '?' and p1_0.gwa > ? and p1_0.uuid = ? fetch first ? rows only",
+            TimedStatementDataSource.redact(sql), "Literals should be masked and aliases kept.");
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecc.nichole.registration.infra;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = TokenController.class, properties = "registration.security.auth-mode=token")
+class TokenControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldIssueTokenToPasswordLogin() throws Exception {
+        mockMvc.perform(post(SecurityConfig.TOKEN_PATH).header(HttpHeaders.AUTHORIZATION, basic("user", "user")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token_type").value("Bearer"));
+    }
+
+    @Test
+    void shouldNotIssueTokenToBearerToken() throws Exception {
+        String body = mockMvc.perform(post(SecurityConfig.TOKEN_PATH).header(HttpHeaders.AUTHORIZATION, basic("admin", "admin")))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("access_token").asText();
+
+        mockMvc.perform(post(SecurityConfig.TOKEN_PATH).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SpringBootConfiguration
+    @Import({SecurityConfig.class, TokenAuthConfig.class, TokenService.class, TokenController.class})
+    static class TestConfig {
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecc.nichole.registration.infra;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenServiceTest {
+
+    private final TokenAuthConfig tokenAuthConfig = new TokenAuthConfig();
+    private TokenService tokenService;
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenAuthConfig, "secret", Base64.getEncoder().encodeToString(new byte[32]));
+        SecretKey key = tokenAuthConfig.tokenSigningKey();
+
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "jwtEncoder", tokenAuthConfig.jwtEncoder(key));
+        ReflectionTestUtils.setField(tokenService, "timeToLive", Duration.ofMinutes(15));
+        jwtDecoder = tokenAuthConfig.jwtDecoder(key);
+    }
+
+    @Test
+    void shouldIssueTokenThatDecodesWithRoles() {
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        Jwt issued = tokenService.issue(authentication);
+        Jwt decoded = jwtDecoder.decode(issued.getTokenValue());
+
+        assertEquals("admin", decoded.getSubject(), "Subject should be the authenticated user.");
+        assertEquals(List.of("ADMIN"), decoded.getClaimAsStringList(TokenService.ROLES_CLAIM), "Roles should be carried without prefix.");
+        assertEquals(Duration.ofMinutes(15), Duration.between(decoded.getIssuedAt(), decoded.getExpiresAt()), "Token should expire after the time-to-live.");
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+            "user", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        String token = tokenService.issue(authentication).getTokenValue();
+        String[] parts = token.split("\\.");
+        String forgedClaims = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("{\"sub\":\"user\",\"roles\":[\"ADMIN\"]}".getBytes());
+
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(parts[0] + "." + forgedClaims + "." + parts[2]));
+    }
+
+    @Test
+    void shouldRejectShortSecret() {
+        ReflectionTestUtils.setField(tokenAuthConfig, "secret", Base64.getEncoder().encodeToString(new byte[16]));
+
+        assertThrows(IllegalStateException.class, tokenAuthConfig::tokenSigningKey);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecc.nichole.registration.infra;
+
+import com.ecc.nichole.registration.core.uuid.RandomUuidGenerator;
+import com.ecc.nichole.registration.core.uuid.TimeOrderedUuidGenerator;
+import com.ecc.nichole.registration.core.uuid.UuidGenerator;
+import com.ecc.nichole.registration.core.uuid.UuidGenerators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UuidConfigTest {
+
+    private final UuidGenerator previous = UuidGenerators.getGenerator();
+
+    @AfterEach
+    void restoreGenerator() {
+        UuidGenerators.setGenerator(previous);
+    }
+
+    @Test
+    void shouldInstallRandomGenerator() {
+        UuidGenerator generator = uuidGenerator("random");
+
+        assertInstanceOf(RandomUuidGenerator.class, generator);
+        assertSame(generator, UuidGenerators.getGenerator(), "Entities should take UUIDs from the configured generator.");
+        assertEquals(4, UuidGenerators.next().version());
+    }
+
+    @Test
+    void shouldInstallTimeOrderedGenerator() {
+        UuidGenerator generator = uuidGenerator("time-ordered");
+
+        assertInstanceOf(TimeOrderedUuidGenerator.class, generator);
+        assertEquals(7, UuidGenerators.next().version());
+    }
+
+    @Test
+    void shouldRejectUnknownGenerator() {
+        assertThrows(IllegalStateException.class, () -> uuidGenerator("sequential"));
+        assertSame(previous, UuidGenerators.getGenerator(), "A bad setting should leave the generator alone.");
+    }
+
+    private static UuidGenerator uuidGenerator(String name) {
+        UuidConfig config = new UuidConfig();
+        ReflectionTestUtils.setField(config, "generator", name);
+        return config.uuidGenerator();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecc.nichole.registration.migration;
+
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer migrationCustomizer() {
+        return configuration -> {
+            // Databases created by hbm2ddl before migrations existed already hold the V1 schema,
+            // so they are baselined at V1 and only pick up the later scripts.
+            configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1");
+
+            // A transaction-scoped advisory lock would leave a transaction open that
+            // CREATE INDEX CONCURRENTLY waits on forever.
+            configuration.getPluginRegister()
+                .getPlugin(PostgreSQLConfigurationExtension.class)
+                .setTransactionalLock(false);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+-- Matches the schema hbm2ddl generated from the entities before migrations were introduced.
+CREATE SEQUENCE IF NOT EXISTS person_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS role_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS Role (
+    id BIGINT NOT NULL,
+    uuid UUID,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS person (
+    id BIGINT NOT NULL,
+    uuid UUID,
+    title VARCHAR(255),
+    firstName VARCHAR(255),
+    middleName VARCHAR(255),
+    lastName VARCHAR(255),
+    suffix VARCHAR(255),
+    streetNumber VARCHAR(255),
+    barangay VARCHAR(255),
+    city VARCHAR(255),
+    zipcode INTEGER,
+    birthDate DATE,
+    gwa DOUBLE PRECISION NOT NULL,
+    hireDate DATE,
+    employed BOOLEAN NOT NULL,
+    landline VARCHAR(255),
+    mobileNumber VARCHAR(255),
+    email VARCHAR(255),
+    createdAt TIMESTAMP(6) WITH TIME ZONE,
+    updatedAt TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS person_Role (
+    Person_id BIGINT NOT NULL,
+    roles_id BIGINT NOT NULL,
+    PRIMARY KEY (Person_id, roles_id),
+    CONSTRAINT fk_person_role_person FOREIGN KEY (Person_id) REFERENCES person (id),
+    CONSTRAINT fk_person_role_role FOREIGN KEY (roles_id) REFERENCES Role (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_person_last_name_id ON person (lastName, id);
@@ -0,0 +1,4 @@
+-- CONCURRENTLY keeps the tables writable while the indexes build. Flyway runs
+-- this script outside a transaction because PostgreSQL requires it.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_person_uuid ON person (uuid);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_role_uuid ON role (uuid);
@@ -0,0 +1,11 @@
+-- Validating a NOT VALID check first lets SET NOT NULL skip its full-table scan
+-- under the ACCESS EXCLUSIVE lock.
+ALTER TABLE person ADD CONSTRAINT person_uuid_not_null CHECK (uuid IS NOT NULL) NOT VALID;
+ALTER TABLE person VALIDATE CONSTRAINT person_uuid_not_null;
+ALTER TABLE person ALTER COLUMN uuid SET NOT NULL;
+ALTER TABLE person DROP CONSTRAINT person_uuid_not_null;
+
+ALTER TABLE role ADD CONSTRAINT role_uuid_not_null CHECK (uuid IS NOT NULL) NOT VALID;
+ALTER TABLE role VALIDATE CONSTRAINT role_uuid_not_null;
+ALTER TABLE role ALTER COLUMN uuid SET NOT NULL;
+ALTER TABLE role DROP CONSTRAINT role_uuid_not_null;
@@ -0,0 +1,14 @@
+-- Indexes behind the person list filters. CONCURRENTLY keeps the tables
+-- writable while they build, so Flyway runs this outside a transaction.
+
+-- employed alone matches most rows; leading with it keeps the default
+-- lastName order readable straight from the index.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_employed_last_name_id ON person (employed, lastName, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_employed_hire_date ON person (employed, hireDate);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_birth_date ON person (birthDate);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_gwa ON person (gwa);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_city_zipcode ON person (city, zipcode);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_zipcode ON person (zipcode);
+
+-- The primary key only serves lookups by person; role filters start from the role.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_person_role_roles_id_person_id ON person_Role (roles_id, Person_id);
@@ -0,0 +1,4 @@
+-- Optimistic lock counters, also served as ETags. A constant default is
+-- stored in the catalog, so PostgreSQL adds the columns without a rewrite.
+ALTER TABLE person ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE role ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;